@@ -20,8 +20,6 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Parent class of line-based parsers, i.e., parsers that scan the input line by line.
@@ -30,23 +28,40 @@ import java.util.List;
  */
 public abstract class AbstractLineBasedParser extends AbstractParser {
 
-    protected int lineIndex = 0;
+    private BufferedReader reader;
 
-    protected List<String> lines;
+    // the line read ahead by peekLine, which is returned by the next call to readLine
+    private String nextLine;
 
-    protected List<String> splitLines(final Reader reader) throws IOException {
-        String line = null;
-        final BufferedReader br;
+    protected void startReading(final Reader reader) {
         if(reader instanceof BufferedReader) {
-            br = (BufferedReader) reader;
+            this.reader = (BufferedReader) reader;
         } else {
-            br = new BufferedReader(reader);
+            this.reader = new BufferedReader(reader);
         }
-        final List<String> lines = new ArrayList<String>();
-        while((line = br.readLine()) != null) {
-            lines.add(line);
+        this.nextLine = null;
+    }
+
+    /**
+     * @return the next line of the input, or null at the end of the input
+     */
+    protected String readLine() throws IOException {
+        if(this.nextLine != null) {
+            String line = this.nextLine;
+            this.nextLine = null;
+            return line;
+        }
+        return this.reader.readLine();
+    }
+
+    /**
+     * @return the next line of the input without consuming it, or null at the end of the input
+     */
+    protected String peekLine() throws IOException {
+        if(this.nextLine == null) {
+            this.nextLine = this.reader.readLine();
         }
-        return lines;
+        return this.nextLine;
     }
 
     /**
@@ -71,12 +86,12 @@ public abstract class AbstractLineBasedParser extends AbstractParser {
      *     project: MavenProject: com.acme.org:foobar:1.0.41-SNAPSHOT @ /opt/jenkins/home/jobs/foobar/workspace/trunk/foobar/pom.xml
      * </pre>
      */
-    protected String extractActiveProjectArtifact() {
+    protected String extractActiveProjectArtifact() throws IOException {
         String artifact = null;
         //start at next line and consume all lines containing "artifact =" or "project: "; record the last line containing "artifact =".
         boolean artifactFound = false;
-        while(this.lineIndex < this.lines.size() - 1) {
-            String tempLine = this.lines.get(this.lineIndex + 1);
+        String tempLine;
+        while((tempLine = peekLine()) != null) {
             boolean artifactLine = !artifactFound && tempLine.contains("artifact = ");
             boolean projectLine = artifactFound && tempLine.contains("project: ");
             if(artifactLine || projectLine) {
@@ -84,7 +99,7 @@ public abstract class AbstractLineBasedParser extends AbstractParser {
                     artifact = StringUtils.substringBefore(StringUtils.substringAfter(tempLine, "artifact = "), ";");
                     artifactFound = true;
                 }
-                this.lineIndex++;
+                readLine();
             } else {
                 break;
             }
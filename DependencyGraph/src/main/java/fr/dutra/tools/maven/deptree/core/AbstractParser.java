@@ -15,9 +15,6 @@
  */
 package fr.dutra.tools.maven.deptree.core;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Parent class for all parsers.
  * @author Alexandre Dutra
@@ -25,13 +22,23 @@ import java.util.List;
  */
 public abstract class AbstractParser implements Parser {
 
+    // the most tokens an artifact can have: groupId, artifactId, packaging, classifier, version, scope, description
+    private static final int MAX_TOKENS = 7;
+
+    // the offsets of the tokens of the artifact being parsed, reused for every artifact
+    private final int[] tokenStarts = new int[MAX_TOKENS];
+    private final int[] tokenEnds = new int[MAX_TOKENS];
+    private int tokenCount;
+
     /**
-     * Parses a string representing a Maven artifact in standard notation.
+     * Parses a string representing a Maven artifact in standard notation. The tokens are recorded as offsets into the
+     * artifact and only the tokens which become fields of the node are copied, the node then shares them through the
+     * coordinate pool.
      * @param artifact
      * @return an instance of {@link Node} representing the artifact.
      */
     protected Node parseArtifactString(final String artifact, final int depLevel) {
-        final List<String> tokens = new ArrayList<String>(7);
+        tokenCount = 0;
         int tokenStart = 0;
         boolean tokenStarted = false;
         boolean hasDescription = false;
@@ -42,20 +49,20 @@ public abstract class AbstractParser implements Parser {
             switch (c) {
                 case ' ': // in descriptions only
                     if (tokenStarted && !hasDescription) {
-                        tokens.add(artifact.substring(tokenStart, tokenEnd));
+                        addToken(tokenStart, tokenEnd);
                         tokenStarted = false;
                         hasDescription = true;
                     }
                     continue;
 
                 case ':':
-                    tokens.add(artifact.substring(tokenStart, tokenEnd));
+                    addToken(tokenStart, tokenEnd);
                     tokenStarted = false;
                     continue;
                 case ')': //end of descriptions and omitted artifacts,
                     // check length in case of "com.bugsnag:bugsnag:jar:3.1.4:compile (version selected from constraint [3.0,4.0))"
                     if (tokenEnd == artifact.length() - 1) {
-                        tokens.add(artifact.substring(tokenStart, tokenEnd));
+                        addToken(tokenStart, tokenEnd);
                         tokenStarted = false;
                     }
                     continue;
@@ -80,7 +87,7 @@ public abstract class AbstractParser implements Parser {
 
         //last token
         if (tokenStarted) {
-            tokens.add(artifact.substring(tokenStart, tokenEnd));
+            addToken(tokenStart, tokenEnd);
         }
 
         String groupId;
@@ -91,58 +98,58 @@ public abstract class AbstractParser implements Parser {
         String scope;
         String description;
 
-        if (tokens.size() == 4) {
+        if (tokenCount == 4) {
 
-            groupId = tokens.get(0);
-            artifactId = tokens.get(1);
-            packaging = tokens.get(2);
-            version = tokens.get(3);
+            groupId = token(artifact, 0);
+            artifactId = token(artifact, 1);
+            packaging = token(artifact, 2);
+            version = token(artifact, 3);
             scope = null;
             description = null;
             classifier = null;
 
-        } else if (tokens.size() == 5) {
+        } else if (tokenCount == 5) {
 
-            groupId = tokens.get(0);
-            artifactId = tokens.get(1);
-            packaging = tokens.get(2);
-            version = tokens.get(3);
-            scope = tokens.get(4);
+            groupId = token(artifact, 0);
+            artifactId = token(artifact, 1);
+            packaging = token(artifact, 2);
+            version = token(artifact, 3);
+            scope = token(artifact, 4);
             description = null;
             classifier = null;
 
-        } else if (tokens.size() == 6) {
+        } else if (tokenCount == 6) {
 
             if (hasDescription) {
-                groupId = tokens.get(0);
-                artifactId = tokens.get(1);
-                packaging = tokens.get(2);
-                version = tokens.get(3);
-                scope = tokens.get(4);
-                description = tokens.get(5);
+                groupId = token(artifact, 0);
+                artifactId = token(artifact, 1);
+                packaging = token(artifact, 2);
+                version = token(artifact, 3);
+                scope = token(artifact, 4);
+                description = token(artifact, 5);
                 classifier = null;
             } else {
-                groupId = tokens.get(0);
-                artifactId = tokens.get(1);
-                packaging = tokens.get(2);
-                classifier = tokens.get(3);
-                version = tokens.get(4);
-                scope = tokens.get(5);
+                groupId = token(artifact, 0);
+                artifactId = token(artifact, 1);
+                packaging = token(artifact, 2);
+                classifier = token(artifact, 3);
+                version = token(artifact, 4);
+                scope = token(artifact, 5);
                 description = null;
             }
 
-        } else if (tokens.size() == 7) {
+        } else if (tokenCount == 7) {
 
-            groupId = tokens.get(0);
-            artifactId = tokens.get(1);
-            packaging = tokens.get(2);
-            classifier = tokens.get(3);
-            version = tokens.get(4);
-            scope = tokens.get(5);
-            description = tokens.get(6);
+            groupId = token(artifact, 0);
+            artifactId = token(artifact, 1);
+            packaging = token(artifact, 2);
+            classifier = token(artifact, 3);
+            version = token(artifact, 4);
+            scope = token(artifact, 5);
+            description = token(artifact, 6);
 
         } else {
-            throw new IllegalStateException("Wrong number of tokens: " + tokens.size() + " for artifact: " + artifact);
+            throw new IllegalStateException("Wrong number of tokens: " + tokenCount + " for artifact: " + artifact);
         }
 
         final Node node = new Node(
@@ -158,4 +165,17 @@ public abstract class AbstractParser implements Parser {
         );
         return node;
     }
-}
\ No newline at end of file
+
+    private void addToken(final int start, final int end) {
+        // the extra tokens are only counted, the artifact is rejected anyway
+        if (tokenCount < MAX_TOKENS) {
+            tokenStarts[tokenCount] = start;
+            tokenEnds[tokenCount] = end;
+        }
+        tokenCount++;
+    }
+
+    private String token(final String artifact, final int index) {
+        return artifact.substring(tokenStarts[index], tokenEnds[index]);
+    }
+}
@@ -0,0 +1,77 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * The decoded description of a node, e.g. {@code version managed from 1.0; omitted for conflict with 2.0}. The same
+ * descriptions occur for many nodes, so each distinct one is decoded once and shared. A decoded description is kept
+ * while the pooled description string of a node refers to it, so descriptions of trees which are no longer used do not
+ * accumulate in a long running daemon.
+ */
+final class Description {
+
+    private static final String DUPLICATE = "omitted for duplicate";
+    private static final String CONFLICT = "omitted for conflict with ";
+    private static final String CYCLE = "omitted for cycle";
+    private static final String VERSION_MANAGED = "version managed from ";
+
+    static final Description NONE = new Description(null, null, null);
+    private static final Map<String, Description> DECODED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final OmissionReason omissionReason;
+    private final String conflictVersion;
+    private final String managedFromVersion;
+
+    private Description(OmissionReason omissionReason, String conflictVersion, String managedFromVersion) {
+        this.omissionReason = omissionReason;
+        this.conflictVersion = conflictVersion;
+        this.managedFromVersion = managedFromVersion;
+    }
+
+    static Description decode(String description) {
+        if (description == null) {
+            return NONE;
+        }
+        return DECODED.computeIfAbsent(description, Description::parse);
+    }
+
+    private static Description parse(String description) {
+        OmissionReason omissionReason = null;
+        String conflictVersion = null;
+        String managedFromVersion = null;
+        for (String detail : description.split(";")) {
+            final String trimmed = detail.trim();
+            if (trimmed.equals(DUPLICATE)) {
+                omissionReason = OmissionReason.DUPLICATE;
+            } else if (trimmed.startsWith(CONFLICT)) {
+                omissionReason = OmissionReason.CONFLICT;
+                conflictVersion = trimmed.substring(CONFLICT.length()).trim();
+            } else if (trimmed.equals(CYCLE)) {
+                omissionReason = OmissionReason.CYCLE;
+            } else if (trimmed.startsWith(VERSION_MANAGED)) {
+                managedFromVersion = trimmed.substring(VERSION_MANAGED.length()).trim();
+            }
+        }
+        if (omissionReason == null && managedFromVersion != null) {
+            omissionReason = OmissionReason.MANAGED;
+        }
+        return new Description(omissionReason, conflictVersion, managedFromVersion);
+    }
+
+    /**
+     * @return the reason given in the description, only meaningful for omitted nodes
+     */
+    OmissionReason getOmissionReason() {
+        return omissionReason;
+    }
+
+    String getConflictVersion() {
+        return conflictVersion;
+    }
+
+    String getManagedFromVersion() {
+        return managedFromVersion;
+    }
+}
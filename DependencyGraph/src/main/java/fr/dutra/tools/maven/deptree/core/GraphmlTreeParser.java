@@ -0,0 +1,122 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses the graphml output of the dependency:tree goal with a streaming XML reader. The labels of the nodes hold the
+ * same artifact strings as the text output. The edges of a node are only written after its whole subtree, so the
+ * depths are not known while the nodes are read: the labels and edges are collected first and the graph is built from
+ * the root in the order of the tree afterwards.
+ */
+public class GraphmlTreeParser extends AbstractParser {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    public Graph<Node, DefaultEdge> parse(Reader reader) throws ParseException {
+        // the labels by node id, in the order of the document
+        final Map<String, String> labels = new LinkedHashMap<>();
+        final Map<String, List<String>> children = new HashMap<>();
+        final Set<String> targets = new HashSet<>();
+        try {
+            final XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(reader);
+            try {
+                String nodeId = null;
+                while (xml.hasNext()) {
+                    if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    switch (xml.getLocalName()) {
+                        case "node":
+                            nodeId = xml.getAttributeValue(null, "id");
+                            break;
+                        case "NodeLabel":
+                            if (nodeId != null) {
+                                labels.put(nodeId, xml.getElementText().trim());
+                                nodeId = null;
+                            }
+                            break;
+                        case "edge":
+                            final String target = xml.getAttributeValue(null, "target");
+                            children.computeIfAbsent(xml.getAttributeValue(null, "source"), key -> new ArrayList<>()).add(target);
+                            targets.add(target);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new ParseException(e);
+        }
+        String root = null;
+        for (String nodeId : labels.keySet()) {
+            if (!targets.contains(nodeId)) {
+                root = nodeId;
+                break;
+            }
+        }
+        return root == null ? null : buildTree(root, labels, children);
+    }
+
+    private Graph<Node, DefaultEdge> buildTree(String root, Map<String, String> labels, Map<String, List<String>> children) throws ParseException {
+        final Graph<Node, DefaultEdge> depGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        // the path from the root to the node being visited, along with the index of its next child
+        final Deque<Node> path = new ArrayDeque<>();
+        final Deque<String> pathIds = new ArrayDeque<>();
+        final Deque<Integer> nextChild = new ArrayDeque<>();
+        final Node rootNode = parseArtifactString(labels.get(root), 0);
+        depGraph.addVertex(rootNode);
+        path.push(rootNode);
+        pathIds.push(root);
+        nextChild.push(0);
+        while (!path.isEmpty()) {
+            final List<String> nodeChildren = children.getOrDefault(pathIds.peek(), List.of());
+            final int index = nextChild.pop();
+            if (index == nodeChildren.size()) {
+                path.pop();
+                pathIds.pop();
+                continue;
+            }
+            nextChild.push(index + 1);
+            final String childId = nodeChildren.get(index);
+            final String label = labels.get(childId);
+            if (label == null) {
+                throw new ParseException("Missing the label of the node " + childId);
+            }
+            final Node child = parseArtifactString(label, path.size());
+            depGraph.addVertex(child);
+            depGraph.addEdge(path.peek(), child);
+            path.push(child);
+            pathIds.push(childId);
+            nextChild.push(0);
+        }
+        return depGraph;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        final XMLInputFactory factory = XMLInputFactory.newFactory();
+        // the output of the goal has no document type, so none is resolved
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,39 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import java.util.Locale;
+
+/**
+ * The output types of the dependency:tree goal which can be parsed
+ */
+public enum InputType {
+
+    TEXT {
+        @Override
+        public Parser newParser() {
+            return new TextParser();
+        }
+    },
+
+    JSON {
+        @Override
+        public Parser newParser() {
+            return new JsonTreeParser();
+        }
+    },
+
+    GRAPHML {
+        @Override
+        public Parser newParser() {
+            return new GraphmlTreeParser();
+        }
+    };
+
+    public abstract Parser newParser();
+
+    /**
+     * @return the value of the outputType parameter of the dependency:tree goal
+     */
+    public String getOutputType() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
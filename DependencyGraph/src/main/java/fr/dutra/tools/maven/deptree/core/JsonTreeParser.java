@@ -0,0 +1,214 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the json output of the dependency:tree goal with a streaming reader. Only the dependencies on the path from
+ * the root to the current dependency are held besides the graph, and the nesting is followed without recursion.
+ * <p>
+ * The json output does not mark the omitted dependencies, so they are derived the way Maven selects the versions: the
+ * occurrence of an artifact nearest to the root wins, the first one in the tree when several are at the same depth, and
+ * the other occurrences are omitted as duplicates or conflicts. They are only listed when the tree is generated with
+ * the verbose flag.
+ */
+public class JsonTreeParser implements Parser {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(JsonFactory.Feature.INTERN_FIELD_NAMES)
+            .build()
+            .disable(com.fasterxml.jackson.core.JsonParser.Feature.AUTO_CLOSE_SOURCE);
+    private static final String CHILDREN = "children";
+
+    public Graph<Node, DefaultEdge> parse(Reader reader) throws ParseException {
+        final List<Graph<Node, DefaultEdge>> trees = parseTrees(reader, false);
+        return trees.isEmpty() ? null : trees.get(0);
+    }
+
+    /**
+     * Parses an output containing several trees, one json object per root, such as the output of a reactor build where
+     * every module appends its tree to the same file
+     * @param reader the output to parse
+     * @return a graph for every root in the order of the output, empty if the output has no tree
+     */
+    public List<Graph<Node, DefaultEdge>> parseForest(Reader reader) throws ParseException {
+        return parseTrees(reader, true);
+    }
+
+    private List<Graph<Node, DefaultEdge>> parseTrees(Reader reader, boolean allRoots) throws ParseException {
+        final List<Graph<Node, DefaultEdge>> trees = new ArrayList<>();
+        try (com.fasterxml.jackson.core.JsonParser json = JSON_FACTORY.createParser(reader)) {
+            JsonToken token;
+            while ((token = json.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new ParseException("Expected the object of the root dependency but found " + token);
+                }
+                trees.add(markOmittedNodes(parseTree(json)));
+                if (!allRoots) {
+                    break;
+                }
+            }
+            return trees;
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
+    }
+
+    /**
+     * Parse the tree of the root whose object was just started
+     */
+    private Graph<Node, DefaultEdge> parseTree(com.fasterxml.jackson.core.JsonParser json) throws IOException, ParseException {
+        final Graph<Node, DefaultEdge> depGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
+        // the dependencies whose objects are open, the innermost first
+        final Deque<Dependency> open = new ArrayDeque<>();
+        open.push(new Dependency(null, 0));
+        while (!open.isEmpty()) {
+            final JsonToken token = json.nextToken();
+            if (token == null) {
+                throw new ParseException("Unexpected end of the dependency tree");
+            }
+            final Dependency dependency = open.peek();
+            switch (token) {
+                case FIELD_NAME:
+                    final String field = json.currentName();
+                    final JsonToken value = json.nextToken();
+                    if (CHILDREN.equals(field)) {
+                        // the children follow the fields of the dependency, so its node can be created
+                        dependency.createNode(depGraph);
+                    } else if (value.isScalarValue()) {
+                        dependency.setField(field, json.getValueAsString());
+                    } else {
+                        json.skipChildren();
+                    }
+                    break;
+                case START_OBJECT:
+                    open.push(new Dependency(dependency.node, dependency.depth + 1));
+                    break;
+                case END_OBJECT:
+                    open.pop().createNode(depGraph);
+                    break;
+                default:
+                    // the start and end of the children
+                    break;
+            }
+        }
+        return depGraph;
+    }
+
+    /**
+     * @return the groupId:artifactId:type:classifier which Maven mediates the versions of, the artifacts of the same
+     * dependency with another type or classifier are selected separately
+     */
+    private static String getConflictKey(Node node) {
+        return node.getArtifactKey() + ":" + node.getPackaging() + ":" + (node.getClassifier() != null ? node.getClassifier() : "");
+    }
+
+    /**
+     * Replace the occurrences of the artifacts which were not selected by omitted nodes
+     */
+    private static Graph<Node, DefaultEdge> markOmittedNodes(Graph<Node, DefaultEdge> depGraph) {
+        // the vertices are in the order of the tree, so the first occurrence at the lowest depth is the selected one
+        final Map<String, Node> selected = new HashMap<>();
+        for (Node node : depGraph.vertexSet()) {
+            selected.merge(getConflictKey(node), node, (current, candidate) -> candidate.getDepLevel() < current.getDepLevel() ? candidate : current);
+        }
+        final Map<Node, Node> replacements = Node.newIdentityMap();
+        for (Node node : depGraph.vertexSet()) {
+            final Node winner = selected.get(getConflictKey(node));
+            if (winner != node) {
+                final String description = winner.getVersion().equals(node.getVersion())
+                        ? "omitted for duplicate" : "omitted for conflict with " + winner.getVersion();
+                replacements.put(node, new Node(node.getGroupId(), node.getArtifactId(), node.getPackaging(), node.getClassifier(),
+                        node.getVersion(), node.getScope(), description, node.getDepLevel(), true));
+            }
+        }
+        if (replacements.isEmpty()) {
+            return depGraph;
+        }
+        // the graph is rebuilt to keep the order of the tree, the nodes can not be changed since they are hashed
+        final Graph<Node, DefaultEdge> marked = new DefaultDirectedGraph<>(DefaultEdge.class);
+        for (Node node : depGraph.vertexSet()) {
+            marked.addVertex(replacements.getOrDefault(node, node));
+        }
+        for (DefaultEdge edge : depGraph.edgeSet()) {
+            final Node source = depGraph.getEdgeSource(edge);
+            final Node target = depGraph.getEdgeTarget(edge);
+            marked.addEdge(replacements.getOrDefault(source, source), replacements.getOrDefault(target, target));
+        }
+        return marked;
+    }
+
+    /**
+     * The fields of a dependency read so far
+     */
+    private static final class Dependency {
+
+        private final Node parent;
+        private final int depth;
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private String type;
+        private String scope;
+        private String classifier;
+        private Node node;
+
+        private Dependency(Node parent, int depth) {
+            this.parent = parent;
+            this.depth = depth;
+        }
+
+        private void setField(String field, String value) {
+            // the root and the dependencies without a classifier have empty values
+            final String fieldValue = value == null || value.isEmpty() ? null : value;
+            switch (field) {
+                case "groupId":
+                    groupId = fieldValue;
+                    break;
+                case "artifactId":
+                    artifactId = fieldValue;
+                    break;
+                case "version":
+                    version = fieldValue;
+                    break;
+                case "type":
+                    type = fieldValue;
+                    break;
+                case "scope":
+                    scope = fieldValue;
+                    break;
+                case "classifier":
+                    classifier = fieldValue;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void createNode(Graph<Node, DefaultEdge> depGraph) throws ParseException {
+            if (node != null) {
+                return;
+            }
+            if (groupId == null || artifactId == null || version == null) {
+                throw new ParseException(String.format("Incomplete dependency %s:%s:%s", groupId, artifactId, version));
+            }
+            node = new Node(groupId, artifactId, type, classifier, version, scope, null, depth, false);
+            depGraph.addVertex(node);
+            if (parent != null) {
+                depGraph.addEdge(parent, node);
+            }
+        }
+    }
+}
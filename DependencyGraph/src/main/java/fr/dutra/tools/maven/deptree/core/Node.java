@@ -15,16 +15,19 @@
  */
 package fr.dutra.tools.maven.deptree.core;
 
+import org.dep.model.Coordinate;
+import org.dep.model.CoordinatePool;
 import org.dep.model.Reference;
 
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 /**
@@ -39,7 +42,15 @@ public class Node implements Serializable {
      */
     private static final long serialVersionUID = 5530155206443082802L;
 
-    private UUID uuid;
+    // the node numbers handed out so far
+    private static final AtomicLong NODE_IDS = new AtomicLong();
+
+    // the identity of the node, the number and the coordinate never change so the hash is computed once
+    private final long nodeId;
+    private final int hash;
+    // the shared coordinate of the dependency, the groupId, artifactId and version are its canonical strings
+    private final Coordinate coordinate;
+
     private final String groupId;
 
     private final String artifactId;
@@ -54,6 +65,9 @@ public class Node implements Serializable {
 
     private final String description;
 
+    // the omission reason and versions of the description, decoded when the node is created
+    private final transient Description decodedDescription;
+
     private final boolean omitted;
 
     private final int depLevel;
@@ -62,6 +76,13 @@ public class Node implements Serializable {
 
     private boolean bloatedDep;
 
+    // the usage of the classes of the node and all its transitive dependencies
+    private int subtreeUsedClasses;
+
+    private int subtreeUsedReferences;
+
+    private int usedDescendants;
+
     private Node parent;
 
     private final List<Node> childNodes = new LinkedList<>();
@@ -70,6 +91,10 @@ public class Node implements Serializable {
 
     private String jarName;
 
+    private long jarSize;
+
+    private int classCount;
+
     public Node(
             final String groupId,
             final String artifactId,
@@ -81,16 +106,31 @@ public class Node implements Serializable {
             final int depLevel,
             boolean omitted) {
         super();
-        this.groupId = groupId;
-        this.artifactId = artifactId;
-        this.packaging = packaging;
-        this.classifier = classifier;
-        this.version = version;
-        this.scope = scope;
-        this.description = description;
+        final CoordinatePool pool = CoordinatePool.getShared();
+        this.coordinate = pool.intern(groupId, artifactId, version);
+        this.groupId = this.coordinate.getGroupId();
+        this.artifactId = this.coordinate.getArtifactId();
+        this.packaging = pool.intern(packaging);
+        this.classifier = pool.intern(classifier);
+        this.version = this.coordinate.getVersion();
+        this.scope = pool.intern(scope);
+        this.description = pool.intern(description);
+        this.decodedDescription = Description.decode(this.description);
         this.depLevel = depLevel;
         this.omitted = omitted;
-        this.uuid = UUID.randomUUID();
+        this.nodeId = NODE_IDS.incrementAndGet();
+        this.hash = 31 * Long.hashCode(this.nodeId) + this.coordinate.hashCode();
+    }
+
+    public Coordinate getCoordinate() {
+        return this.coordinate;
+    }
+
+    /**
+     * @return the canonical groupId:artifactId, nodes of the same artifact return the same instance
+     */
+    public String getArtifactKey() {
+        return this.coordinate.getArtifactKey();
     }
 
     public String getGroupId() {
@@ -117,6 +157,39 @@ public class Node implements Serializable {
         return this.description;
     }
 
+    /**
+     * @return why the node was omitted, null if it was not omitted
+     */
+    public OmissionReason getOmissionReason() {
+        return omitted ? decodedDescription().getOmissionReason() : null;
+    }
+
+    /**
+     * @return if the node was omitted since another version of the artifact was selected
+     */
+    public boolean isConflict() {
+        return getOmissionReason() == OmissionReason.CONFLICT;
+    }
+
+    /**
+     * @return the version selected for the artifact as far as the node tells, its own version unless it lost a conflict
+     */
+    public String getWinningVersion() {
+        return isConflict() ? decodedDescription().getConflictVersion() : this.version;
+    }
+
+    /**
+     * @return the version declared before the dependency management was applied, null if it was not managed
+     */
+    public String getManagedFromVersion() {
+        return decodedDescription().getManagedFromVersion();
+    }
+
+    private Description decodedDescription() {
+        // nodes deserialized by Java serialization have not decoded their description
+        return decodedDescription != null ? decodedDescription : Description.decode(description);
+    }
+
     public String getScope() {
         return this.scope;
     }
@@ -185,7 +258,7 @@ public class Node implements Serializable {
     }
 
     public String getDependencyName() {
-        return this.groupId + ":" + this.artifactId + ":" + this.version;
+        return this.coordinate.getDependencyName();
     }
 
     public boolean isBloatedDep() {
@@ -196,20 +269,57 @@ public class Node implements Serializable {
         this.bloatedDep = bloatedDep;
     }
 
+    /**
+     * @return the number of the node, unique among the nodes created by the process and increasing in the order they
+     * were created, which is the order of the tree for the parsed nodes
+     */
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return a map for data kept per node, which compares the nodes by reference without calling hashCode
+     */
+    public static <V> Map<Node, V> newIdentityMap() {
+        return new IdentityHashMap<>();
+    }
+
+    /**
+     * @return the number of classes used from the node and its transitive dependencies
+     */
+    public int getSubtreeUsedClasses() {
+        return subtreeUsedClasses;
+    }
+
+    public void setSubtreeUsedClasses(int subtreeUsedClasses) {
+        this.subtreeUsedClasses = subtreeUsedClasses;
+    }
+
+    /**
+     * @return the number of references to the node and its transitive dependencies
+     */
+    public int getSubtreeUsedReferences() {
+        return subtreeUsedReferences;
+    }
+
+    public void setSubtreeUsedReferences(int subtreeUsedReferences) {
+        this.subtreeUsedReferences = subtreeUsedReferences;
+    }
+
+    /**
+     * @return the number of transitive dependencies below the node which are used
+     */
+    public int getUsedDescendants() {
+        return usedDescendants;
+    }
+
+    public void setUsedDescendants(int usedDescendants) {
+        this.usedDescendants = usedDescendants;
+    }
+
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((artifactId == null) ? 0 : artifactId.hashCode());
-        result = prime * result + ((childNodes == null) ? 0 : childNodes.hashCode());
-        result = prime * result + ((classifier == null) ? 0 : classifier.hashCode());
-        result = prime * result + ((description == null) ? 0 : description.hashCode());
-        result = prime * result + ((groupId == null) ? 0 : groupId.hashCode());
-        result = prime * result + (omitted ? 1231 : 1237);
-        result = prime * result + ((packaging == null) ? 0 : packaging.hashCode());
-        result = prime * result + ((scope == null) ? 0 : scope.hashCode());
-        result = prime * result + ((version == null) ? 0 : version.hashCode());
-        return result;
+        return hash;
     }
 
     @Override
@@ -217,83 +327,11 @@ public class Node implements Serializable {
         if (this == obj) {
             return true;
         }
-        if (obj == null) {
-            return false;
-        }
-        if (getClass() != obj.getClass()) {
+        if (!(obj instanceof Node)) {
             return false;
         }
         Node other = (Node) obj;
-        if (artifactId == null) {
-            if (other.artifactId != null) {
-                return false;
-            }
-        } else if (!artifactId.equals(other.artifactId)) {
-            return false;
-        }
-        if (childNodes == null) {
-            if (other.childNodes != null) {
-                return false;
-            }
-        } else if (!childNodes.equals(other.childNodes)) {
-            return false;
-        }
-        if (classifier == null) {
-            if (other.classifier != null) {
-                return false;
-            }
-        } else if (!classifier.equals(other.classifier)) {
-            return false;
-        }
-        if (description == null) {
-            if (other.description != null) {
-                return false;
-            }
-        } else if (!description.equals(other.description)) {
-            return false;
-        }
-        if (groupId == null) {
-            if (other.groupId != null) {
-                return false;
-            }
-        } else if (!groupId.equals(other.groupId)) {
-            return false;
-        }
-        if (omitted != other.omitted) {
-            return false;
-        }
-        if (packaging == null) {
-            if (other.packaging != null) {
-                return false;
-            }
-        } else if (!packaging.equals(other.packaging)) {
-            return false;
-        }
-        if (scope == null) {
-            if (other.scope != null) {
-                return false;
-            }
-        } else if (!scope.equals(other.scope)) {
-            return false;
-        }
-        if (version == null) {
-            if (other.version != null) {
-                return false;
-            }
-        } else if (!version.equals(other.version)) {
-            return false;
-        }
-        if (depLevel != other.depLevel) {
-            return false;
-        }
-        if (uuid == null) {
-            if (other.uuid != null) {
-                return false;
-            }
-        } else if (!uuid.equals(other.uuid)) {
-            return false;
-        }
-        return true;
+        return nodeId == other.nodeId && coordinate.equals(other.coordinate);
     }
 
     @Override
@@ -368,4 +406,26 @@ public class Node implements Serializable {
     public String getJarName() {
         return this.jarName;
     }
+
+    /**
+     * @return the size in bytes of the jar of the dependency, 0 if it was not indexed
+     */
+    public long getJarSize() {
+        return jarSize;
+    }
+
+    public void setJarSize(long jarSize) {
+        this.jarSize = jarSize;
+    }
+
+    /**
+     * @return the number of classes in the jar of the dependency, 0 if it was not indexed
+     */
+    public int getClassCount() {
+        return classCount;
+    }
+
+    public void setClassCount(int classCount) {
+        this.classCount = classCount;
+    }
 }
@@ -0,0 +1,16 @@
+package fr.dutra.tools.maven.deptree.core;
+
+/**
+ * Why a dependency of the verbose tree was omitted from the resolved dependencies
+ */
+public enum OmissionReason {
+
+    // the same version is already selected nearer to the root
+    DUPLICATE,
+    // another version is selected
+    CONFLICT,
+    // the dependency is one of its own ancestors
+    CYCLE,
+    // no other reason is given, but the version was managed
+    MANAGED
+}
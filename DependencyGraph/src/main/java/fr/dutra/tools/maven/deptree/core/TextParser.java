@@ -21,64 +21,91 @@ import org.jgrapht.graph.DefaultEdge;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
+/**
+ * Parses the text output of the Maven dependency tree in a single pass. The lines are read one at a time and only the
+ * path from the root to the current node is kept, so the memory used does not grow with the number of lines and deep
+ * trees do not need a deep call stack.
+ */
 public class TextParser extends AbstractLineBasedParser {
 
     public Graph<Node, DefaultEdge> parse(Reader reader) throws ParseException {
-        Graph<Node, DefaultEdge> depGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
-        try {
-            this.lines = splitLines(reader);
-        } catch (IOException e) {
-            throw new ParseException(e);
-        }
-
-        if (lines.isEmpty()) {
-            return null;
-        }
-        parseInternal(0, depGraph);
-        return depGraph;
-
+        final List<Graph<Node, DefaultEdge>> trees = parseTrees(reader, false);
+        return trees.isEmpty() ? null : trees.get(0);
     }
 
-    private Node parseInternal(final int depth, Graph<Node, DefaultEdge> depGraph) {
-        final Node node = this.parseLine(depth);
-            depGraph.addVertex(node);
-            this.lineIndex++;
-            //children
-            while (this.lineIndex < this.lines.size() && this.computeDepth(this.lines.get(this.lineIndex)) > depth) {
+    /**
+     * Parses an output containing several trees, such as the output of a reactor build where every module appends its
+     * tree to the same file. The nodes of all trees share the coordinates of the same dependencies.
+     * @param reader the output to parse
+     * @return a graph for every root in the order of the output, empty if the output has no tree
+     */
+    public List<Graph<Node, DefaultEdge>> parseForest(Reader reader) throws ParseException {
+        return parseTrees(reader, true);
+    }
 
-                final Node child = this.parseInternal(depth + 1, depGraph);
-                if (node != null) {
-                    depGraph.addEdge(node, child);
+    private List<Graph<Node, DefaultEdge>> parseTrees(Reader reader, boolean allRoots) throws ParseException {
+        final List<Graph<Node, DefaultEdge>> trees = new ArrayList<>();
+        startReading(reader);
+        try {
+            // the ancestors of the next node, the node at index i has the depth i
+            final Deque<Node> ancestors = new ArrayDeque<>();
+            Graph<Node, DefaultEdge> depGraph = null;
+            String line;
+            while ((line = readLine()) != null) {
+                final int artifactIndex = getArtifactIndex(line);
+                if (artifactIndex < 0) {
+                    continue;
+                }
+                if (depGraph != null) {
+                    // a line can be indented deeper than the child of the previous node, it is then parsed as that child
+                    while (ancestors.size() > artifactIndex / 3) {
+                        ancestors.pop();
+                    }
+                    if (ancestors.isEmpty()) {
+                        // the tree of the root ended, the line is the root of the next tree
+                        if (!allRoots) {
+                            break;
+                        }
+                        depGraph = null;
+                    }
                 }
+                if (depGraph == null) {
+                    depGraph = new DefaultDirectedGraph<>(DefaultEdge.class);
+                    trees.add(depGraph);
+                }
+                final Node node = parseLine(line, artifactIndex, ancestors.size());
+                depGraph.addVertex(node);
+                if (!ancestors.isEmpty()) {
+                    depGraph.addEdge(ancestors.peek(), node);
+                }
+                ancestors.push(node);
             }
-        return node;
-    }
-
-    private int computeDepth(final String line) {
-        return getArtifactIndex(line) / 3;
+            return trees;
+        } catch (IOException e) {
+            throw new ParseException(e);
+        }
     }
 
     /**
-     * sample lineIndex structure:
+     * sample line structure:
      * <pre>|  |  \- org.apache.activemq:activeio-core:test-jar:tests:3.1.0:compile</pre>
      * @return
      */
-    private Node parseLine(final int depth) {
-        String line = this.lines.get(this.lineIndex);
+    private Node parseLine(final String line, final int artifactIndex, final int depth) throws IOException {
         String artifact;
         if (line.contains("active project artifact:")) {
             artifact = extractActiveProjectArtifact();
         } else {
-            artifact = extractArtifact(line);
+            artifact = line.substring(artifactIndex);
         }
         return parseArtifactString(artifact, depth);
     }
 
-    private String extractArtifact(String line) {
-        return line.substring(getArtifactIndex(line));
-    }
-
     private int getArtifactIndex(final String line) {
         for (int i = 0; i < line.length(); i++) {
             final char c = line.charAt(i);
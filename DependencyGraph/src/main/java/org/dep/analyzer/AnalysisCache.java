@@ -0,0 +1,246 @@
+package org.dep.analyzer;
+
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.MethodInfo;
+import org.dep.model.ClassSummary;
+import org.dep.model.JarIndex;
+import org.dep.util.JarClassReader;
+import org.dep.util.JarIndexCache;
+import org.dep.util.StandardJavaReferences;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Data which is the same for every analyzed project, the classes of each dependency jar and the references of the
+ * standard Java classes. A single cache is shared read-only by the projects analyzed concurrently, so that a jar used by
+ * several projects is only read once.
+ */
+public class AnalysisCache {
+
+    // the index of each jar keyed by its canonical path, an index read before the jar changed is replaced. The indexes
+    // are softly referenced, so that a long running analysis drops them when the memory is low
+    private final Map<String, CachedIndex> jarIndexes = new ConcurrentHashMap<>();
+    private final ReferenceQueue<JarIndex> collectedIndexes = new ReferenceQueue<>();
+    private Map<String, Set<String>> standardJavaReferences;
+    // reads the jars of every analysis sharing the cache, so that the projects analyzed at the same time do not each
+    // start their own workers, created once jars are read concurrently
+    private ForkJoinPool indexPool;
+
+    /**
+     * Get all java classes for a given jar file
+     *
+     * @param jarFile jar file to extract the java classes
+     * @return the java classes in the jar file, in the internal form using '/' as the separator
+     * @throws IOException exception thrown if the jar file could not be read
+     */
+    public Set<String> getJarClasses(File jarFile) throws IOException {
+        return getJarIndex(jarFile, null).getClassNames();
+    }
+
+    /**
+     * Get the index of a jar file. With a persistent cache the index holds the summaries of the classes, it is then
+     * loaded from the persistent cache or, the first time the jar is seen, read from the jar and stored in it.
+     *
+     * @param jarFile         the jar file to index
+     * @param persistentCache the persistent cache of the jar indexes, null to only list the classes of the jar
+     * @return the index of the jar
+     * @throws IOException exception thrown if the jar file could not be read
+     */
+    public JarIndex getJarIndex(File jarFile, JarIndexCache persistentCache) throws IOException {
+        removeCollectedIndexes();
+        String path = jarFile.getCanonicalPath();
+        long lastModified = jarFile.lastModified();
+        long length = jarFile.length();
+        CachedIndex cached = jarIndexes.get(path);
+        JarIndex index = cached != null ? cached.get(lastModified, length) : null;
+        if (index == null || (persistentCache != null && !index.hasSummaries())) {
+            // the jar is read outside of the map, which would otherwise block the other jars of its bin while the jars
+            // are indexed concurrently, a jar read twice at the same time gives the same index
+            JarIndex readIndex = null;
+            if (persistentCache != null) {
+                String cacheKey = persistentCache.computeKey(jarFile);
+                readIndex = persistentCache.load(cacheKey);
+                if (readIndex == null) {
+                    readIndex = readJarIndex(jarFile, true);
+                    persistentCache.store(cacheKey, readIndex);
+                }
+            } else {
+                readIndex = readJarIndex(jarFile, false);
+            }
+            // an index with the summaries replaces one which only lists the classes
+            jarIndexes.merge(path, new CachedIndex(path, lastModified, length, readIndex, collectedIndexes), (existing, read) -> {
+                JarIndex existingIndex = existing.get(lastModified, length);
+                return existingIndex != null && existingIndex.hasSummaries() ? existing : read;
+            });
+            index = readIndex;
+        }
+        return index;
+    }
+
+    private void removeCollectedIndexes() {
+        CachedIndex collected;
+        while ((collected = (CachedIndex) collectedIndexes.poll()) != null) {
+            // the entry may already hold the index read again since
+            jarIndexes.remove(collected.path, collected);
+        }
+    }
+
+    /**
+     * Get the indexes of the jar files. The jars are read on the pool shared by all analyses using the cache, which
+     * has a worker per processor, while each analysis reads at most the given number of its jars at the same time.
+     *
+     * @param jarFiles        the jar files to index
+     * @param persistentCache the persistent cache of the jar indexes, null to only list the classes of the jars
+     * @param workers         the maximum number of the jars read at the same time, the jars are read by the calling
+     *                        thread if one or less
+     * @return the index of every jar in the order of the jars
+     * @throws IOException exception thrown if a jar file could not be read
+     */
+    public List<JarIndex> getJarIndexes(List<File> jarFiles, JarIndexCache persistentCache, int workers) throws IOException {
+        JarIndex[] indexes = new JarIndex[jarFiles.size()];
+        int tasks = Math.min(workers, indexes.length);
+        if (tasks <= 1) {
+            for (int index = 0; index < indexes.length; index++) {
+                indexes[index] = getJarIndex(jarFiles.get(index), persistentCache);
+            }
+            return Arrays.asList(indexes);
+        }
+        ForkJoinPool pool = getIndexPool();
+        List<Future<Void>> results = new ArrayList<>(tasks);
+        for (int task = 0; task < tasks; task++) {
+            int first = task;
+            // each task reads every tasks-th jar, so the jars are spread evenly over the tasks
+            results.add(pool.submit(() -> {
+                for (int index = first; index < indexes.length; index += tasks) {
+                    indexes[index] = getJarIndex(jarFiles.get(index), persistentCache);
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> result : results) {
+                result.get();
+            }
+            return Arrays.asList(indexes);
+        } catch (ExecutionException e) {
+            results.forEach(result -> result.cancel(true));
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException("Error occurred while indexing the dependency jars", e.getCause());
+        } catch (InterruptedException e) {
+            results.forEach(result -> result.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while indexing the dependency jars", e);
+        }
+    }
+
+    /**
+     * @return the pool reading the jars, its workers are daemon threads which stop once they are idle
+     */
+    private synchronized ForkJoinPool getIndexPool() {
+        if (indexPool == null) {
+            indexPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return indexPool;
+    }
+
+    /**
+     * @return the references of the standard Java classes, which are only loaded once
+     * @throws IOException exception thrown if the references could not be loaded
+     */
+    public synchronized Map<String, Set<String>> getStandardJavaReferences() throws IOException {
+        if (standardJavaReferences == null) {
+            standardJavaReferences = Collections.unmodifiableMap(StandardJavaReferences.loadStandardJavaReferences());
+        }
+        return standardJavaReferences;
+    }
+
+    /**
+     * The index of a jar along with the size and the modification time of the jar when it was read
+     */
+    private static final class CachedIndex extends SoftReference<JarIndex> {
+
+        private final String path;
+        private final long lastModified;
+        private final long length;
+
+        CachedIndex(String path, long lastModified, long length, JarIndex index, ReferenceQueue<JarIndex> queue) {
+            super(index, queue);
+            this.path = path;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        /**
+         * @return the index, null if it was collected or the jar changed since it was read
+         */
+        JarIndex get(long lastModified, long length) {
+            return this.lastModified == lastModified && this.length == length ? get() : null;
+        }
+    }
+
+    private static JarIndex readJarIndex(File givenFile, boolean withSummaries) throws IOException {
+        // the classes are listed from the central directory of the jar, a class is only read and inflated to summarize it
+        try (JarClassReader reader = JarClassReader.open(givenFile)) {
+            Set<String> classNames = new HashSet<>(reader.size() * 4 / 3 + 1);
+            Map<String, ClassSummary> summaries = withSummaries ? new HashMap<>(reader.size() * 4 / 3 + 1) : null;
+            for (int i = 0; i < reader.size(); i++) {
+                String className = reader.getClassName(i);
+                classNames.add(className);
+                if (withSummaries) {
+                    try {
+                        summaries.put(className, summarize(new ClassFile(new DataInputStream(new ByteArrayInputStream(reader.readClass(i))))));
+                    } catch (IOException | RuntimeException invalidClass) {
+                        // the class is read from the jar again if it is referenced
+                    }
+                }
+            }
+            return new JarIndex(classNames, summaries);
+        }
+    }
+
+    /**
+     * Summarize the supertypes and the declared members of a class the same way javassist lists them: the methods
+     * without the constructors and the static initializer
+     *
+     * @param classFile the class file
+     * @return the summary of the class
+     */
+    static ClassSummary summarize(ClassFile classFile) {
+        List<String> methods = new ArrayList<>();
+        List<String> constructors = new ArrayList<>();
+        for (MethodInfo method : classFile.getMethods()) {
+            if (method.isConstructor()) {
+                constructors.add(MethodInfo.nameInit + method.getDescriptor());
+            } else if (!method.isStaticInitializer()) {
+                methods.add(method.getName() + method.getDescriptor());
+            }
+        }
+        List<FieldInfo> fieldInfos = classFile.getFields();
+        String[] fields = new String[fieldInfos.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fieldInfos.get(i).getName();
+        }
+        return new ClassSummary(classFile.getSuperclass(), classFile.getInterfaces(),
+                methods.toArray(new String[0]), constructors.toArray(new String[0]), fields);
+    }
+}
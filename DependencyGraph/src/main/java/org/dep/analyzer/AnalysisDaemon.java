@@ -0,0 +1,205 @@
+package org.dep.analyzer;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.commons.cli.CommandLine;
+import org.dep.model.AnalysisSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the analyses requested by the command line client in a long running process, so the standard Java references,
+ * the classes read from the dependency jars and the compiled code of the analyzer stay loaded between the requests.
+ * The daemon only listens on the loopback address and writes its port along with a random token to the port file,
+ * which a request has to present.
+ * <p>
+ * A request to {@code /analyze} is a POST whose body holds the working directory of the client on the first line and
+ * the command line arguments on the following lines. The response lists the outcome of every analyzed project.
+ */
+public class AnalysisDaemon {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisDaemon.class);
+    public static final File DEFAULT_PORT_FILE = new File(System.getProperty("user.home"), ".dependency-audit/daemon.port");
+    static final String TOKEN_HEADER = "X-Daemon-Token";
+
+    private final GraphAnalyzer graphAnalyzer;
+    private final File portFile;
+    private final AnalysisCache cache = new AnalysisCache();
+    // the analyses of a project are serialized since they write to the same project folder
+    private final Map<File, Object> projectLocks = new ConcurrentHashMap<>();
+    private final CountDownLatch shutdown = new CountDownLatch(1);
+    private HttpServer server;
+    private ExecutorService executor;
+    private String token;
+
+    public AnalysisDaemon(GraphAnalyzer graphAnalyzer, File portFile) {
+        this.graphAnalyzer = graphAnalyzer;
+        this.portFile = portFile;
+    }
+
+    /**
+     * Start listening on a free port of the loopback address and publish it in the port file
+     *
+     * @throws IOException exception thrown if the server could not be started or the port file could not be written
+     */
+    public void start() throws IOException {
+        // load the standard Java references before the first request instead of while it waits
+        cache.getStandardJavaReferences();
+
+        byte[] tokenBytes = new byte[16];
+        new SecureRandom().nextBytes(tokenBytes);
+        token = HexFormat.of().formatHex(tokenBytes);
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/analyze", this::handleAnalyze);
+        server.createContext("/shutdown", this::handleShutdown);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        writePortFile(server.getAddress().getPort());
+        logger.info(String.format("Daemon listening on port %d", server.getAddress().getPort()));
+    }
+
+    /**
+     * Wait until a shutdown is requested
+     */
+    public void awaitShutdown() {
+        try {
+            shutdown.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+        try {
+            Files.deleteIfExists(portFile.toPath());
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to delete the port file: %s", portFile));
+        }
+        shutdown.countDown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void writePortFile(int port) throws IOException {
+        Path folder = portFile.getAbsoluteFile().getParentFile().toPath();
+        Path path = portFile.toPath();
+        // the token allows running Maven on behalf of the user, so the file is only ever readable by the user: it is
+        // created with restricted permissions before the token is written in to it
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(folder, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            Files.deleteIfExists(path);
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            logger.warn("Could not restrict the permissions of the port file to the current user");
+            Files.createDirectories(folder);
+        }
+        Files.writeString(path, port + System.lineSeparator() + token + System.lineSeparator());
+        portFile.deleteOnExit();
+    }
+
+    private void handleAnalyze(HttpExchange exchange) throws IOException {
+        if (!isAuthorized(exchange)) {
+            return;
+        }
+        List<String> lines = Arrays.asList(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).split("\n", -1));
+        if (lines.isEmpty() || lines.get(0).isBlank()) {
+            respond(exchange, 400, "Missing the working directory");
+            return;
+        }
+        File workingDir = new File(lines.get(0));
+        String[] args = lines.subList(1, lines.size()).stream().filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        CommandLine line;
+        try {
+            line = GraphAnalyzer.parseArguments(args);
+        } catch (org.apache.commons.cli.ParseException | IllegalArgumentException e) {
+            respond(exchange, 400, "Invalid arguments: " + e.getMessage());
+            return;
+        }
+        if (!line.hasOption(GraphAnalyzer.INPUT)) {
+            respond(exchange, 400, "Invalid arguments: Missing required option: input");
+            return;
+        }
+        logger.info(String.format("Analyzing %s", line.getOptionValue(GraphAnalyzer.INPUT)));
+        try {
+            List<AnalysisSummary> summaries;
+            File input = GraphAnalyzer.resolvePath(workingDir, line.getOptionValue(GraphAnalyzer.INPUT)).toPath().normalize().toFile();
+            synchronized (projectLocks.computeIfAbsent(input, key -> new Object())) {
+                summaries = graphAnalyzer.run(line, workingDir, cache);
+            }
+            if (summaries.isEmpty()) {
+                respond(exchange, 400, "Invalid Maven project path: " + line.getOptionValue(GraphAnalyzer.INPUT));
+                return;
+            }
+            List<String> results = new ArrayList<>();
+            for (AnalysisSummary summary : summaries) {
+                results.add(summary.isFailed()
+                        ? String.format("FAILED %s: %s", summary.getProjectName(), summary.getError())
+                        : String.format("OK %s: %s", summary.getProjectName(), summary.getReportFolder()));
+            }
+            respond(exchange, 200, String.join("\n", results));
+        } catch (Exception e) {
+            logger.warn(String.format("Failed to analyze %s", line.getOptionValue(GraphAnalyzer.INPUT)), e);
+            respond(exchange, 500, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        }
+    }
+
+    private void handleShutdown(HttpExchange exchange) throws IOException {
+        if (!isAuthorized(exchange)) {
+            return;
+        }
+        respond(exchange, 200, "Stopping");
+        // the server waits for the running exchanges, so it is stopped outside of this one
+        new Thread(this::stop, "daemon-shutdown").start();
+    }
+
+    private boolean isAuthorized(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "Only POST is supported");
+            return false;
+        }
+        if (!token.equals(exchange.getRequestHeaders().getFirst(TOKEN_HEADER))) {
+            respond(exchange, 403, "Invalid token");
+            return false;
+        }
+        return true;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.dep.analyzer;
+
+import org.dep.model.AnalysisConfig;
+import org.dep.model.AnalysisSummary;
+import org.dep.util.CommandExecutor;
+import org.dep.util.HTMLReport;
+import org.dep.util.Helper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Analyzes a list of independent projects. At most the given number of workers analyze a project at the same time,
+ * each taking the next project of the list once it is done, while the number of Maven builds running at the same time
+ * is limited separately. A worker waiting for a Maven build keeps its project, so the number of analyses in flight and
+ * their memory never exceed the number of workers. The classes read from the dependency jars and the standard Java
+ * references are shared by all projects, so a jar used by many projects is only read once.
+ */
+public class BatchAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchAnalyzer.class);
+    public static final String BATCH_SUMMARY_CSV = "BatchSummary.csv";
+
+    private final GraphAnalyzer graphAnalyzer;
+
+    public BatchAnalyzer(GraphAnalyzer graphAnalyzer) {
+        this.graphAnalyzer = graphAnalyzer;
+    }
+
+    public List<AnalysisSummary> analyze(File pomList, AnalysisConfig config) throws IOException {
+        return analyze(pomList, config, new AnalysisCache());
+    }
+
+    /**
+     * Analyze all projects of the list
+     *
+     * @param pomList the file which lists the pom file of each project, one per line
+     * @param config  the settings of the analysis, which are used for every project
+     * @param cache   the jar classes and standard Java references shared with the other analyses
+     * @return the summaries of the projects in the order they are listed
+     * @throws IOException exception thrown if the list could not be read or the aggregate report could not be written
+     */
+    public List<AnalysisSummary> analyze(File pomList, AnalysisConfig config, AnalysisCache cache) throws IOException {
+        String reportFolder = config.getReportFolder() != null ? config.getReportFolder() : GraphAnalyzer.REPORT_FOLDER;
+        List<File> projectPoms = readPomList(pomList);
+        logger.info(String.format("Analyzing %d projects with %d workers", projectPoms.size(), config.getWorkers()));
+        Helper.createFolderIfNotExists(reportFolder);
+        // the limit only applies to the builds of this run
+        AnalysisConfig runConfig = new AnalysisConfig(config);
+        runConfig.setCommandPermits(CommandExecutor.newCommandPermits(config.getMavenProcesses()));
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(config.getWorkers(), projectPoms.size())));
+        List<Future<AnalysisSummary>> results = new ArrayList<>();
+        try {
+            // projects sharing a directory name get a numbered report folder
+            Map<String, Integer> folderNames = new HashMap<>();
+            for (File projectPom : projectPoms) {
+                String folderName = projectPom.getAbsoluteFile().getParentFile().getName();
+                int occurrence = folderNames.merge(folderName, 1, Integer::sum);
+                AnalysisConfig projectConfig = new AnalysisConfig(runConfig);
+                projectConfig.setReportFolder(new File(reportFolder, occurrence == 1 ? folderName : folderName + "_" + occurrence).getPath());
+                results.add(workers.submit(() -> analyzeProject(projectPom, projectConfig, cache)));
+            }
+            List<AnalysisSummary> summaries = new ArrayList<>();
+            for (Future<AnalysisSummary> result : results) {
+                summaries.add(result.get());
+            }
+            HTMLReport.generateBatchSummaryHTML(reportFolder, summaries, ReactorAnalyzer.findDivergentVersions(summaries));
+            ReactorAnalyzer.writeSummaryCSV(new File(reportFolder, BATCH_SUMMARY_CSV), "Project", summaries);
+            return summaries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while analyzing the projects", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error occurred while analyzing the projects", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * A project which fails is recorded in the aggregate report without stopping the analysis of the other projects
+     */
+    private AnalysisSummary analyzeProject(File projectPom, AnalysisConfig projectConfig, AnalysisCache cache) {
+        try {
+            return graphAnalyzer.analyze(projectPom, projectConfig, cache);
+        } catch (Exception e) {
+            logger.warn(String.format("Failed to analyze the project %s", projectPom), e);
+            return ReactorAnalyzer.failedSummary(projectPom, projectConfig, e);
+        }
+    }
+
+    /**
+     * Read the pom files listed one per line, blank lines and lines starting with # are ignored. Relative paths are
+     * resolved against the folder of the list.
+     *
+     * @param pomList the file which lists the pom files
+     * @return the pom files, a listed folder is replaced by its pom file
+     * @throws IOException exception thrown if the list could not be read
+     */
+    public static List<File> readPomList(File pomList) throws IOException {
+        File listDir = pomList.getAbsoluteFile().getParentFile();
+        List<File> projectPoms = new ArrayList<>();
+        for (String line : Files.readAllLines(pomList.toPath())) {
+            String path = line.trim();
+            if (path.isEmpty() || path.startsWith("#")) {
+                continue;
+            }
+            File projectPom = new File(path);
+            if (!projectPom.isAbsolute()) {
+                projectPom = new File(listDir, path);
+            }
+            if (projectPom.isDirectory()) {
+                projectPom = new File(projectPom, "pom.xml");
+            }
+            if (projectPom.exists()) {
+                projectPoms.add(projectPom.toPath().normalize().toFile());
+            } else {
+                logger.warn(String.format("Could not locate the project %s", path));
+            }
+        }
+        return projectPoms;
+    }
+}
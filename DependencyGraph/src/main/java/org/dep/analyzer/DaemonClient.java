@@ -0,0 +1,84 @@
+package org.dep.analyzer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sends the command line arguments to the {@link AnalysisDaemon} when one is running, so the command line only waits
+ * for the analysis instead of loading the caches again
+ */
+public class DaemonClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(DaemonClient.class);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    private DaemonClient() {
+    }
+
+    /**
+     * Run the analysis on the daemon
+     *
+     * @param portFile   the file in which the daemon published its port
+     * @param workingDir the folder against which the daemon resolves the relative paths of the arguments
+     * @param args       the command line arguments
+     * @return the outcome of every analyzed project, null if no daemon is running
+     * @throws IOException exception thrown if the daemon could not run the analysis
+     */
+    public static List<String> forward(File portFile, File workingDir, String[] args) throws IOException {
+        return send(portFile, "analyze", workingDir.getAbsolutePath() + "\n" + String.join("\n", args));
+    }
+
+    /**
+     * Stop the daemon
+     *
+     * @param portFile the file in which the daemon published its port
+     * @return if a daemon was running
+     * @throws IOException exception thrown if the daemon could not be reached
+     */
+    public static boolean shutdown(File portFile) throws IOException {
+        return send(portFile, "shutdown", "") != null;
+    }
+
+    private static List<String> send(File portFile, String endpoint, String body) throws IOException {
+        if (!portFile.exists()) {
+            return null;
+        }
+        List<String> portFileLines = Files.readAllLines(portFile.toPath());
+        if (portFileLines.size() < 2) {
+            logger.warn(String.format("Ignoring the invalid port file: %s", portFile));
+            return null;
+        }
+        HttpClient client = HttpClient.newBuilder().connectTimeout(CONNECT_TIMEOUT).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(String.format("http://127.0.0.1:%s/%s", portFileLines.get(0).trim(), endpoint)))
+                .header(AnalysisDaemon.TOKEN_HEADER, portFileLines.get(1).trim())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (ConnectException e) {
+            // the daemon stopped without removing its port file
+            logger.warn(String.format("No daemon is listening on the port of %s, running the analysis locally", portFile));
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the daemon", e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(String.format("The daemon failed with status %d: %s", response.statusCode(), response.body()));
+        }
+        return Arrays.asList(response.body().split("\n"));
+    }
+}
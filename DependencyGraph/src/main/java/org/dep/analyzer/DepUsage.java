@@ -3,16 +3,17 @@ package org.dep.analyzer;
 import fr.dutra.tools.maven.deptree.core.Node;
 import javassist.ClassPath;
 import javassist.ClassPool;
-import javassist.CtClass;
-import javassist.CtMethod;
-import javassist.CtField;
-import javassist.CtConstructor;
 import javassist.NotFoundException;
 import javassist.bytecode.BadBytecode;
+import org.dep.model.AnalysisConfig;
+import org.dep.model.ClassSummary;
+import org.dep.model.JarIndex;
 import org.dep.model.Reference;
-import org.dep.util.StandardJavaReferences;
+import org.dep.util.JarIndexCache;
+import org.dep.util.MavenLocalRepository;
 import org.reference.ReferenceFinder;
 import org.dep.util.CommandExecutor;
+import org.dep.util.CommandMonitor;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.traverse.BreadthFirstIterator;
@@ -26,15 +27,12 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.Map;
 import java.util.Objects;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -43,39 +41,106 @@ import static org.dep.util.Helper.createFolderIfNotExists;
 public class DepUsage {
 
     private static final Logger logger = LoggerFactory.getLogger(DepUsage.class);
-    private static final String COPY_DEPENDENCY_FOLDER = "DepCopied";
+    static final String COPY_DEPENDENCY_FOLDER = "DepCopied";
     private static final String TARGET = "target";
 
     private final static String META_INF_FILE = "META-INF";
+    private static final String POM_PACKAGING = "pom";
+    private static final String SYSTEM_SCOPE = "system";
+    private static final String TEST_SCOPE = "test";
+    private static final String TEST_CLASSES = "test-classes";
+
+    private final AnalysisConfig config;
+    private final AnalysisCache cache;
+    // the persistent cache of the jar indexes, null if it is not used
+    private final JarIndexCache jarIndexCache;
+    // the index of every indexed jar by its path
+    private final Map<String, JarIndex> jarIndexes = new HashMap<>();
+
+    public DepUsage() {
+        this(new AnalysisConfig());
+    }
 
-    public void extractDepUsage(Graph<Node, DefaultEdge> dependencyTree, File projectDir, String mvnCmd, Map<String, Set<Reference>> allUnMappedReferences) throws IOException, NotFoundException, BadBytecode {
-        if (copyProjectDependencies(projectDir, mvnCmd)) {
-            Set<String> clientClasses = new HashSet<>();
-            File dependencyDirectory = new File(projectDir, COPY_DEPENDENCY_FOLDER);
-            // a map with all the classes and the jarfiles they are linked to
-            Map<String, List<Node>> allClassesInDep = new HashMap<>();
-            //TODO: do we need to keep track of the files that could not be extracted
-            getDependencyClasses(dependencyDirectory, dependencyTree, allClassesInDep);
+    public DepUsage(AnalysisConfig config) {
+        this(config, new AnalysisCache());
+    }
+
+    /**
+     * @param config the settings of the analysis
+     * @param cache  the jar classes and standard Java references shared with the other analyzed projects
+     */
+    public DepUsage(AnalysisConfig config, AnalysisCache cache) {
+        this.config = config;
+        this.cache = cache;
+        this.jarIndexCache = config.getJarCacheFolder() != null ? new JarIndexCache(config.getJarCacheFolder()) : null;
+    }
 
+    public void extractDepUsage(Graph<Node, DefaultEdge> dependencyTree, File projectDir, String mvnCmd, Map<String, Set<Reference>> allUnMappedReferences) throws IOException, NotFoundException, BadBytecode {
+        boolean dependenciesAvailable = config.isIndexJarsInPlace() ? resolveProjectDependencies(dependencyTree, projectDir, mvnCmd) : copyProjectDependencies(projectDir, mvnCmd);
+        if (dependenciesAvailable) {
+            Map<String, List<Node>> allClassesInDep = indexDependencyClasses(dependencyTree, projectDir);
             if (buildClientProject(projectDir, mvnCmd)) {
-                // check if target exists and class and test-classes
-                File targetFolder = new File(projectDir, TARGET);
-                if (targetFolder.exists()) {
-                    // get all classes in target folder
-                    Map<String, Set<Reference>> referencesInClientCode = new HashMap<>();
-                    getCallSitesToVerify(targetFolder, referencesInClientCode, clientClasses);
-                    // filter the client related classes and external classes
-                    excludeInternalCallSites(referencesInClientCode, clientClasses);
-                    //iteratively search for the invoked references in the dep classes
-                    checkReferencesInDep(allClassesInDep, referencesInClientCode, allUnMappedReferences);
-                }
+                findReferencesInClientClasses(projectDir, allClassesInDep, allUnMappedReferences);
             }
         }
     }
 
+    /**
+     * Extract the dependency usage of a project whose dependencies were copied, or resolved when the jars are indexed
+     * in place, and classes compiled by a single Maven invocation
+     *
+     * @param dependencyTree        the dependency tree of the project
+     * @param projectDir            the local directory which contains the project
+     * @param mavenInvocation       the outcome of the Maven invocation
+     * @param allUnMappedReferences the references which could not be mapped to a dependency
+     */
+    public void extractDepUsage(Graph<Node, DefaultEdge> dependencyTree, File projectDir, MavenInvocation mavenInvocation, Map<String, Set<Reference>> allUnMappedReferences) throws IOException, NotFoundException, BadBytecode {
+        if (!mavenInvocation.isDependenciesResolved()) {
+            logger.warn("Failed to resolve the dependencies for the project");
+            return;
+        }
+        Map<String, List<Node>> allClassesInDep = indexDependencyClasses(dependencyTree, projectDir);
+        if (mavenInvocation.isProjectCompiled()) {
+            findReferencesInClientClasses(projectDir, allClassesInDep, allUnMappedReferences);
+        } else {
+            logger.warn("Failed to compile the project");
+        }
+    }
+
+    Map<String, List<Node>> indexDependencyClasses(Graph<Node, DefaultEdge> dependencyTree, File projectDir) throws IOException {
+        // a map with all the classes and the jarfiles they are linked to
+        Map<String, List<Node>> allClassesInDep = new HashMap<>();
+        // the dependencies and their jars in the order of the tree
+        List<Node> dependencies = new ArrayList<>();
+        List<File> jarFiles = new ArrayList<>();
+        if (config.isIndexJarsInPlace()) {
+            getDependencyClassesFromLocalRepository(dependencyTree, dependencies, jarFiles);
+        } else {
+            File dependencyDirectory = new File(projectDir, COPY_DEPENDENCY_FOLDER);
+            getDependencyClasses(dependencyDirectory, dependencyTree, dependencies, jarFiles);
+        }
+        indexJars(dependencies, jarFiles, allClassesInDep);
+        return allClassesInDep;
+    }
+
+    private void findReferencesInClientClasses(File projectDir, Map<String, List<Node>> allClassesInDep, Map<String, Set<Reference>> allUnMappedReferences) throws IOException, BadBytecode, NotFoundException {
+        Set<String> clientClasses = new HashSet<>();
+        // check if target exists and class and test-classes
+        File targetFolder = new File(projectDir, TARGET);
+        if (targetFolder.exists()) {
+            // get all classes in target folder
+            Map<String, Set<Reference>> referencesInClientCode = new HashMap<>();
+            getCallSitesToVerify(targetFolder, referencesInClientCode, clientClasses);
+            // filter the client related classes and external classes
+            excludeInternalCallSites(referencesInClientCode, clientClasses);
+            //iteratively search for the invoked references in the dep classes
+            checkReferencesInDep(allClassesInDep, referencesInClientCode, allUnMappedReferences);
+        }
+    }
+
     private void checkReferencesInDep(Map<String, List<Node>> allClassesInDep, Map<String, Set<Reference>> externalReferencesInvoked, Map<String, Set<Reference>> allUnMappedReferences) throws NotFoundException, IOException {
         // include the java classes as well, so that the standard java class will not be marked as unmapped references
-        Map<String, Set<String>> standardJavaClasses = StandardJavaReferences.loadStandardJavaReferences();
+        Map<String, Set<String>> standardJavaClasses = cache.getStandardJavaReferences();
         ClassPool classPool = new ClassPool(true);
         for (String referencedClass : externalReferencesInvoked.keySet()) {
             // get jars connected to that class
@@ -86,9 +151,7 @@ public class DepUsage {
                 List<String> parentClasses = new ArrayList<>();
                 if (dependenciesWithClass.size() > 0) {
                     Node matchedDependency = dependenciesWithClass.get(0);
-                    ClassPath classPath = classPool.insertClassPath(matchedDependency.getJarName());
                     mapReferenceWithDep(matchedDependency, referencedClass, unMappedReferences, parentClasses, classPool);
-                    classPool.removeClassPath(classPath);
                 }
                 if (!unMappedReferences.isEmpty()) {
                     iterativelySearchParentClasses(allClassesInDep, unMappedReferences, parentClasses, classPool, standardJavaClasses);
@@ -111,9 +174,7 @@ public class DepUsage {
                     if (dependenciesWithParentClass.size() > 0 && !referencesToMap.isEmpty()) {
                         // We only consider the first match with the node if not found it will be highlighted in the graph
                         Node matchedDependency = dependenciesWithParentClass.get(0);
-                        ClassPath classPath = classPool.insertClassPath(matchedDependency.getJarName());
                         mapReferenceWithDep(matchedDependency, parentClass, referencesToMap, superParentClasses, classPool);
-                        classPool.removeClassPath(classPath);
                     }
                     if (!referencesToMap.isEmpty()) {
                         iterativelySearchParentClasses(allClassesInDep, referencesToMap, superParentClasses, classPool, standardJavaClasses);
@@ -135,25 +196,43 @@ public class DepUsage {
         if (references.isEmpty()) {
             dependency.addReferences(referencedClass, references);
         } else {
-            CtClass ctClass = classPool.get(referencedClass);
+            ClassSummary classSummary = getClassSummary(dependency, referencedClass, classPool);
             Set<Reference> mappedMethodsAndFields = new HashSet<>();
 
-            mapReferences(references, ctClass, mappedMethodsAndFields);
+            mapReferences(references, classSummary, mappedMethodsAndFields);
             if (!mappedMethodsAndFields.isEmpty()) {
                 dependency.addReferences(referencedClass, mappedMethodsAndFields);
             }
             if (!references.isEmpty()) {
                 // extract the superclass and interfaces
-                String superclass = ctClass.getClassFile().getSuperclass();
+                String superclass = classSummary.getSuperclass();
                 if (superclass != null) {
                     parentClasses.add(superclass);
                 }
-                Collections.addAll(parentClasses, ctClass.getClassFile().getInterfaces());
+                Collections.addAll(parentClasses, classSummary.getInterfaces());
             }
         }
     }
 
-    private static void mapReferences(Set<Reference> methodsAndFields, CtClass ctClass, Set<Reference> mappedMethodsAndFields) {
+    /**
+     * Get the summary of a class of the dependency from the index of its jar, the class is read from the jar when the
+     * index only lists the classes
+     */
+    private ClassSummary getClassSummary(Node dependency, String referencedClass, ClassPool classPool) throws NotFoundException {
+        JarIndex jarIndex = jarIndexes.get(dependency.getJarName());
+        ClassSummary classSummary = jarIndex != null ? jarIndex.getSummary(referencedClass.replace('.', '/')) : null;
+        if (classSummary == null) {
+            ClassPath classPath = classPool.insertClassPath(dependency.getJarName());
+            try {
+                classSummary = AnalysisCache.summarize(classPool.get(referencedClass).getClassFile());
+            } finally {
+                classPool.removeClassPath(classPath);
+            }
+        }
+        return classSummary;
+    }
+
+    private static void mapReferences(Set<Reference> methodsAndFields, ClassSummary classSummary, Set<Reference> mappedMethodsAndFields) {
 
         Iterator<Reference> iterator = methodsAndFields.iterator();
 
@@ -162,16 +241,16 @@ public class DepUsage {
             boolean referenceFound = false;
 
             // Check methods
-            for (CtMethod method : ctClass.getDeclaredMethods()) {
-                if ((method.getName() + method.getSignature()).equals(methodOrField.getName())) {
+            for (String method : classSummary.getMethods()) {
+                if (method.equals(methodOrField.getName())) {
                     mappedMethodsAndFields.add(methodOrField);
                     referenceFound = true;
                     break;
                 }
             }
             if (!referenceFound) {
-                for (CtConstructor constrtuctor : ctClass.getDeclaredConstructors()) {
-                    if (("<init>" + constrtuctor.getSignature()).equals(methodOrField.getName())) {
+                for (String constructor : classSummary.getConstructors()) {
+                    if (constructor.equals(methodOrField.getName())) {
                         mappedMethodsAndFields.add(methodOrField);
                         referenceFound = true;
                         break;
@@ -181,8 +260,8 @@ public class DepUsage {
 
             // Check fields
             if (!referenceFound) {
-                for (CtField field : ctClass.getDeclaredFields()) {
-                    if (field.getName().equals(methodOrField.getName())) {
+                for (String field : classSummary.getFields()) {
+                    if (field.equals(methodOrField.getName())) {
                         mappedMethodsAndFields.add(methodOrField);
                         referenceFound = true;
                         break;
@@ -250,7 +329,9 @@ public class DepUsage {
         if (classesDirectory.exists()) {
             File[] classDirectories = classesDirectory.listFiles(File::isDirectory);
             for (File projectClassesDir : classDirectories) {
-                if (!META_INF_FILE.equals(projectClassesDir.getName())) {
+                // the test classes are not analyzed when the test scope is excluded
+                boolean excludedTestClasses = config.isExcludeTestScope() && TEST_CLASSES.equals(projectClassesDir.getName());
+                if (!META_INF_FILE.equals(projectClassesDir.getName()) && !excludedTestClasses) {
                     List<File> classFiles = Files.walk(projectClassesDir.toPath())
                             .map(Path::toFile)
                             .filter(f -> f.getName().endsWith(".class"))
@@ -279,79 +360,161 @@ public class DepUsage {
 
 
     /**
-     * Get all dependency classes in the collected dependency folder
+     * Get the jars of the dependencies in the collected dependency folder. The folder is listed once in to an index of
+     * the jar names, in which every dependency looks up the name Maven copied its jar to.
      *
      * @param dependencyDirectory the directory in which all dependencies were copied to
-     * @return all the classes in dependencies and any other external files
-     * @throws IOException throw exception if jar file is not found
+     * @param dependencies        the dependencies with a jar, in the order of the tree
+     * @param jarFiles            the jar of each dependency
      */
-    private void getDependencyClasses(File dependencyDirectory, Graph<Node, DefaultEdge> dependencyTree, Map<String, List<Node>> allClassesInDep) throws IOException {
+    private void getDependencyClasses(File dependencyDirectory, Graph<Node, DefaultEdge> dependencyTree, List<Node> dependencies, List<File> jarFiles) {
         File[] depFiles = dependencyDirectory.listFiles();
         if (depFiles != null) {
+            // the jars by their file name, artifactId-version[-classifier].jar
+            Map<String, File> jarsByName = new HashMap<>();
+            for (File depFile : depFiles) {
+                if (depFile.getName().endsWith(".jar")) {
+                    jarsByName.put(depFile.getName(), depFile);
+                }
+            }
+            Set<String> matchedJars = new HashSet<>();
+            Set<String> treeJars = new HashSet<>();
+            List<String> missingJars = new ArrayList<>();
 
             // map the jar file with the dependency name
             Node rootNode = dependencyTree.vertexSet().iterator().next();
             BreadthFirstIterator<Node, DefaultEdge> bfsIterator = new BreadthFirstIterator<>(dependencyTree, rootNode);
-            boolean nodeNotFound = true;
             while (bfsIterator.hasNext()) {
                 Node node = bfsIterator.next();
-                if (!node.isOmitted()) {
-                    for (File depFile : depFiles) {
-                        if (depFile.getName().endsWith(".jar")) {
-                            if ((node.getClassifier() == null &&
-                                    depFile.getName().equals(node.getArtifactId() + "-" + node.getVersion() + ".jar")) ||
-                                    (node.getClassifier() != null && depFile.getName().equals(node.getArtifactId() +
-                                            "-" + node.getVersion() + "-" + node.getClassifier() + ".jar"))) {
-                                node.setJarName(depFile.getAbsolutePath());
-                                // add all classes of the jar file in to the Map
-                                Set<String> allClasses = getJavaClassNamesFromCompressedFiles(depFile);
-                                for (String className : allClasses) {
-                                    String formattedClassName = className.replace("/", ".");
-                                    List<Node> depThatContainsClass = allClassesInDep.getOrDefault(formattedClassName, new ArrayList<Node>());
-                                    depThatContainsClass.add(node);
-                                    allClassesInDep.put(formattedClassName, depThatContainsClass);
-                                }
-                                break;
-                            }
-                        }
-                    }
+                String jarName = getCopiedJarName(node);
+                treeJars.add(jarName);
+                if (node.getDepLevel() == 0 || node.isOmitted() || isExcludedTestDependency(node)) {
+                    continue;
+                }
+                File depFile = jarsByName.get(jarName);
+                if (depFile != null) {
+                    matchedJars.add(jarName);
+                    dependencies.add(node);
+                    jarFiles.add(depFile);
+                } else if (!POM_PACKAGING.equals(node.getPackaging())) {
+                    missingJars.add(node.getDependencyName());
                 }
             }
+
+            if (!missingJars.isEmpty()) {
+                logger.warn(String.format("No jar was found in %s for %d dependencies, their classes are not indexed: %s", dependencyDirectory, missingJars.size(), String.join(", ", missingJars)));
+            }
+            // the jars of the omitted or excluded dependencies are expected to be left over
+            List<String> unmatchedJars = jarsByName.keySet().stream()
+                    .filter(jarName -> !matchedJars.contains(jarName) && !treeJars.contains(jarName))
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!unmatchedJars.isEmpty()) {
+                logger.warn(String.format("%d jars in %s do not belong to any dependency of the tree: %s", unmatchedJars.size(), dependencyDirectory, String.join(", ", unmatchedJars)));
+            }
         }
     }
 
     /**
-     * get all java classes for a given jar file
+     * @return the name of the jar of the dependency as it is copied by the Maven dependency plugin
+     */
+    private static String getCopiedJarName(Node node) {
+        return node.getClassifier() == null
+                ? node.getArtifactId() + "-" + node.getVersion() + ".jar"
+                : node.getArtifactId() + "-" + node.getVersion() + "-" + node.getClassifier() + ".jar";
+    }
+
+    /**
+     * Get the jars of the resolved dependencies where they are stored in the local repository, so they are read without
+     * copying them
      *
-     * @param givenFile jar file to extract the java classes
-     * @return the java classes in the jar file
-     * @throws IOException
+     * @param dependencyTree the dependency tree of the project
+     * @param dependencies   the dependencies with a jar, in the order of the tree
+     * @param jarFiles       the jar of each dependency
      */
-    private Set<String> getJavaClassNamesFromCompressedFiles(File givenFile) throws IOException {
-        Set<String> classNames = new HashSet<>();
-        try (JarFile jarFile = new JarFile(givenFile)) {
-            Enumeration<JarEntry> e = jarFile.entries();
-            while (e.hasMoreElements()) {
-                JarEntry jarEntry = e.nextElement();
-                if (jarEntry.getName().endsWith(".class")) {
-                    String className = jarEntry.getName().replace(".class", "");
-                    classNames.add(className);
-                }
+    private void getDependencyClassesFromLocalRepository(Graph<Node, DefaultEdge> dependencyTree, List<Node> dependencies, List<File> jarFiles) {
+        List<String> missingJars = new ArrayList<>();
+        Node rootNode = dependencyTree.vertexSet().iterator().next();
+        BreadthFirstIterator<Node, DefaultEdge> bfsIterator = new BreadthFirstIterator<>(dependencyTree, rootNode);
+        while (bfsIterator.hasNext()) {
+            Node node = bfsIterator.next();
+            File jarFile = getLocalRepositoryJar(node);
+            if (jarFile != null && jarFile.exists()) {
+                dependencies.add(node);
+                jarFiles.add(jarFile);
+            } else if (jarFile != null) {
+                missingJars.add(node.getDependencyName());
+            }
+        }
+        if (!missingJars.isEmpty()) {
+            logger.warn(String.format("No jar was found in the local repository for %d dependencies, their classes are not indexed: %s", missingJars.size(), String.join(", ", missingJars)));
+        }
+    }
+
+    /**
+     * Get the location of the jar of a resolved dependency in the local repository
+     *
+     * @param node the dependency
+     * @return the jar file, which may not exist, or null if the dependency is not resolved from the local repository
+     */
+    private File getLocalRepositoryJar(Node node) {
+        // the project itself, the omitted dependencies and the dependencies without a jar are not indexed
+        if (node.getDepLevel() == 0 || node.isOmitted() || isExcludedTestDependency(node)
+                || POM_PACKAGING.equals(node.getPackaging()) || SYSTEM_SCOPE.equals(node.getScope())) {
+            return null;
+        }
+        return MavenLocalRepository.getArtifactFile(node.getGroupId(), node.getArtifactId(), node.getVersion(), node.getClassifier(), "jar");
+    }
+
+    /**
+     * The dependencies only used by the tests are not indexed when the test scope is excluded
+     */
+    private boolean isExcludedTestDependency(Node node) {
+        return config.isExcludeTestScope() && TEST_SCOPE.equals(node.getScope());
+    }
+
+    /**
+     * Link the dependencies with their jar files and add all classes of the jar files in to the map. The jars are read
+     * concurrently, then merged in the order of the tree, so the dependencies of a class are listed in the same order
+     * whatever the number of workers.
+     *
+     * @param dependencies    the dependencies, in the order of the tree
+     * @param jarFiles        the jar of each dependency
+     * @param allClassesInDep the classes in the dependencies and the dependencies they are linked to
+     * @throws IOException throw exception if a jar file could not be read
+     */
+    private void indexJars(List<Node> dependencies, List<File> jarFiles, Map<String, List<Node>> allClassesInDep) throws IOException {
+        List<JarIndex> indexes = cache.getJarIndexes(jarFiles, jarIndexCache, config.getIndexWorkers());
+        for (int index = 0; index < dependencies.size(); index++) {
+            Node node = dependencies.get(index);
+            File jarFile = jarFiles.get(index);
+            JarIndex jarIndex = indexes.get(index);
+            node.setJarName(jarFile.getAbsolutePath());
+            node.setJarSize(jarFile.length());
+            node.setClassCount(jarIndex.getClassNames().size());
+            jarIndexes.put(node.getJarName(), jarIndex);
+            for (String className : jarIndex.getClassNames()) {
+                allClassesInDep.computeIfAbsent(className.replace('/', '.'), key -> new ArrayList<>(1)).add(node);
             }
         }
-        return classNames;
     }
 
     /**
-     * Build the client project without tests to generate the class files for the analysis
+     * Build the client project to generate the class files for the analysis, unless the existing classes are used
      *
      * @param projectDir the local directory which contains the project
      * @return if the project was successfully built or not
      * @throws IOException
      */
     private boolean buildClientProject(File projectDir, String mvnCmd) throws IOException {
-        if (CommandExecutor.executeCommand(String.format("%s clean compile test-compile", mvnCmd), projectDir).contains("BUILD SUCCESS")) {
+        if (!ProjectBuild.requiresCompile(projectDir, config)) {
+            return true;
+        }
+        String goals = ProjectBuild.requiresClean(config) ? "clean " + ProjectBuild.getCompileGoals(config) : ProjectBuild.getCompileGoals(config);
+        long buildStart = System.currentTimeMillis();
+        if (CommandExecutor.executeCommand(String.format("%s %s", mvnCmd, goals), projectDir, CommandMonitor.forMaven(config.getCompileTimeout()), config.getCommandPermits()).isSuccess()) {
             logger.info("Project compiles successfully!!");
+            ProjectBuild.recordBuild(projectDir, buildStart, !config.isExcludeTestScope());
             return true;
         } else {
             logger.warn("Failed to compile the project");
@@ -359,6 +522,30 @@ public class DepUsage {
         }
     }
 
+    /**
+     * Make sure the jars of the dependencies are available in the local repository, so that they can be indexed in
+     * place. Maven is only executed when some of the jars have not been downloaded yet.
+     *
+     * @param dependencyTree the dependency tree of the project
+     * @param projectDir     the local directory which contains the project
+     * @return if the dependencies are available in the local repository
+     * @throws IOException
+     */
+    private boolean resolveProjectDependencies(Graph<Node, DefaultEdge> dependencyTree, File projectDir, String mvnCmd) throws IOException {
+        boolean jarsMissing = dependencyTree.vertexSet().stream()
+                .map(this::getLocalRepositoryJar)
+                .anyMatch(jarFile -> jarFile != null && !jarFile.exists());
+        if (!jarsMissing) {
+            return true;
+        }
+        if (CommandExecutor.executeCommand(String.format("%s dependency:resolve", mvnCmd), projectDir, CommandMonitor.forMaven(config.getDependencyTimeout()), config.getCommandPermits()).isSuccess()) {
+            logger.info("Resolved the dependencies in to the local repository");
+            return true;
+        }
+        logger.warn("Failed to resolve the dependencies for the project");
+        return false;
+    }
+
     /**
      * Copy the client dependencies to the provided folder for the analysis
      *
@@ -371,7 +558,7 @@ public class DepUsage {
         String depCopiedLocation = new File(projectDir, COPY_DEPENDENCY_FOLDER).toString();
         // need to create a folder to copy the dependencies within the client project
         if (createFolderIfNotExists(depCopiedLocation)) {
-            if (CommandExecutor.executeCommand(String.format("%s dependency:copy-dependencies -DoutputDirectory=%s", mvnCmd, depCopiedLocation), projectDir).contains("BUILD SUCCESS")) {
+            if (CommandExecutor.executeCommand(String.format("%s dependency:copy-dependencies -DoutputDirectory=%s", mvnCmd, depCopiedLocation), projectDir, CommandMonitor.forMaven(config.getDependencyTimeout()), config.getCommandPermits()).isSuccess()) {
                 dependenciesCopied = true;
                 logger.info("Copied dependencies for  " + depCopiedLocation);
             } else {
@@ -4,6 +4,8 @@ import com.opencsv.CSVWriter;
 import fr.dutra.tools.maven.deptree.core.Node;
 import fr.dutra.tools.maven.deptree.core.ParseException;
 import fr.dutra.tools.maven.deptree.core.Parser;
+import fr.dutra.tools.maven.deptree.core.InputType;
+import fr.dutra.tools.maven.deptree.core.JsonTreeParser;
 import fr.dutra.tools.maven.deptree.core.TextParser;
 import javassist.NotFoundException;
 import javassist.bytecode.BadBytecode;
@@ -12,11 +14,20 @@ import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.CommandLine;
-import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.MissingOptionException;
+import org.dep.model.AnalysisConfig;
+import org.dep.model.AnalysisSummary;
+import org.dep.model.BuildMode;
 import org.dep.model.ColorStyleTracker;
+import org.dep.model.CompactTree;
+import org.dep.model.DominatorTree;
 import org.dep.model.Reference;
+import org.dep.model.RemovalImpact;
+import org.dep.model.ResolutionIndex;
 import org.dep.util.ColorGenerator;
 import org.dep.util.CommandExecutor;
+import org.dep.util.CommandMonitor;
+import org.dep.util.DependencyTreeCache;
 
 import java.io.IOException;
 
@@ -32,14 +43,15 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 
 import org.dep.util.HTMLReport;
 import org.dep.util.MermaidFileGenerator;
 import org.jgrapht.Graph;
-import org.jgrapht.Graphs;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.nio.graphml.GraphMLExporter;
 import org.jgrapht.traverse.BreadthFirstIterator;
@@ -49,9 +61,10 @@ import org.slf4j.LoggerFactory;
 
 public class GraphAnalyzer {
     public static final String DEPENDENCY_TREE_FILE = "DepTree.txt";
+    private static final int TREE_READ_BUFFER_SIZE = 64 * 1024;
+    // the version is set since the 3.7.0 tree goal overwrites the output of the previous module instead of appending
+    private static final String REACTOR_TREE_GOAL = "org.apache.maven.plugins:maven-dependency-plugin:3.8.1:tree";
     private static final Logger logger = LoggerFactory.getLogger(GraphAnalyzer.class);
-    // The project name under analysis
-    public static String PROJECT_NAME = null;
     // The folder in which all reports will be generated under
     public static String REPORT_FOLDER = null;
     // The command line option to get the pom file location
@@ -59,8 +72,8 @@ public class GraphAnalyzer {
             .argName("POM-File")
             .option("input")
             .hasArg()
-            .required(true)
-            .desc("Provides the project pom.xml file path")
+            .required(false)
+            .desc("Provides the project pom.xml file path, or in the batch mode a file listing one pom.xml file path per line")
             .build();
 
     // The command line option to get folder name to copy the reports
@@ -90,6 +103,150 @@ public class GraphAnalyzer {
             .desc("Display used transitive functions in the graph by default false")
             .build();
 
+    // The command line option to run all the Maven goals required for the analysis in a single Maven execution
+    public static Option SINGLE_MVN_INVOCATION = Option.builder()
+            .argName("single-maven-invocation")
+            .option("singleMavenInvocation")
+            .hasArg()
+            .required(false)
+            .desc("Generate the dependency tree, copy the dependencies and compile the project in one Maven execution by default false")
+            .build();
+
+    // The command line option to resolve the dependency tree from the local repository without executing Maven
+    public static Option IN_PROCESS_TREE = Option.builder()
+            .argName("resolve-tree-in-process")
+            .option("resolveTreeInProcess")
+            .hasArg()
+            .required(false)
+            .desc("Resolve the dependency tree offline from the local repository instead of executing Maven by default false")
+            .build();
+
+    // The command line option to get the folder in which the dependency trees are cached
+    public static Option TREE_CACHE = Option.builder()
+            .argName("tree-cache-folder")
+            .option("treeCache")
+            .hasArg()
+            .required(false)
+            .desc("Provides the folder to cache the dependency trees, which are reused while the project poms are unchanged")
+            .build();
+
+    // The command line option to get the folder in which the indexes of the dependency jars are cached
+    public static Option JAR_CACHE = Option.builder()
+            .argName("jar-cache-folder")
+            .option("jarCache")
+            .hasArg()
+            .required(false)
+            .desc("Provides the folder to cache the classes, supertypes and members of the dependency jars, which are reused while the jar content is unchanged")
+            .build();
+
+    // The command line option to read the dependency jars where they are stored in the local repository
+    public static Option JARS_IN_PLACE = Option.builder()
+            .argName("index-jars-in-place")
+            .option("indexJarsInPlace")
+            .hasArg()
+            .required(false)
+            .desc("Index the dependency jars in the local repository instead of copying them in to the project by default false")
+            .build();
+
+    // The command line option to determine how the classes of the project are made available for the analysis
+    public static Option BUILD_MODE = Option.builder()
+            .argName("build-mode")
+            .option("buildMode")
+            .hasArg()
+            .required(false)
+            .desc("clean rebuilds the project, incremental only compiles when the classes are out of date and existing never builds the project by default clean")
+            .build();
+
+    // The command line option to get the timeouts of the Maven phases
+    public static Option PHASE_TIMEOUTS = Option.builder()
+            .argName("phase=seconds,...")
+            .option("phaseTimeouts")
+            .hasArg()
+            .required(false)
+            .desc("Provides the timeout in seconds of the tree, copy and compile phases e.g. tree=120,copy=300,compile=600 by default 300 each")
+            .build();
+
+    // The command line option to analyze every module of the multi-module project
+    public static Option REACTOR = Option.builder()
+            .argName("reactor")
+            .option("reactor")
+            .hasArg()
+            .required(false)
+            .desc("Analyze all modules of the aggregator pom concurrently with a report per module and an aggregate report by default false")
+            .build();
+
+    // The command line option to generate the trees of all modules with one Maven execution
+    public static Option REACTOR_TREE = Option.builder()
+            .argName("reactor-tree")
+            .option("reactorTree")
+            .hasArg()
+            .required(false)
+            .desc("Generate the dependency trees of all modules with one Maven execution at the reactor root in the reactor mode by default false")
+            .build();
+
+    // The command line option to get the output type of the dependency tree generated by Maven
+    public static Option TREE_FORMAT = Option.builder()
+            .argName("tree-format")
+            .option("treeFormat")
+            .hasArg()
+            .required(false)
+            .desc("Provides the output type of the dependency tree generated by Maven, one of text, json or graphml by default text")
+            .build();
+
+    // The command line option to get the number of modules analyzed concurrently
+    public static Option WORKERS = Option.builder()
+            .argName("workers")
+            .option("workers")
+            .hasArg()
+            .required(false)
+            .desc("Provides the number of modules or projects analyzed concurrently in the reactor and batch modes by default half of the available processors")
+            .build();
+
+    // The command line option to get the number of dependency jars read concurrently
+    public static Option INDEX_WORKERS = Option.builder()
+            .argName("indexWorkers")
+            .option("indexWorkers")
+            .hasArg()
+            .required(false)
+            .desc("Provides the number of dependency jars of a project read concurrently while its classes are indexed on a pool shared by all projects, by default the number of available processors")
+            .build();
+
+    // The command line option to analyze every project listed in the input file
+    public static Option BATCH = Option.builder()
+            .argName("batch")
+            .option("batch")
+            .hasArg()
+            .required(false)
+            .desc("Analyze every project listed in the input file with a report per project and an aggregate report by default false")
+            .build();
+
+    // The command line option to get the number of Maven builds running at the same time
+    public static Option MAVEN_PROCESSES = Option.builder()
+            .argName("maven-processes")
+            .option("mavenProcesses")
+            .hasArg()
+            .required(false)
+            .desc("Provides the number of Maven builds running at the same time in the reactor and batch modes by default no limit")
+            .build();
+
+    // The command line option to run as a daemon which keeps the caches loaded between analyses
+    public static Option DAEMON = Option.builder()
+            .argName("daemon")
+            .option("daemon")
+            .hasArg()
+            .required(false)
+            .desc("Run as a daemon which accepts analysis requests on a loopback port and keeps the caches loaded, or stop the running daemon with stop by default false")
+            .build();
+
+    // The command line option to send the analysis to a running daemon
+    public static Option USE_DAEMON = Option.builder()
+            .argName("use-daemon")
+            .option("useDaemon")
+            .hasArg()
+            .required(false)
+            .desc("Send the analysis to the running daemon when there is one by default true")
+            .build();
+
     // To execute maven commands on the Windows OS need to update this to mvn.cmd
     public static String MAVEN_CMD = "mvn";
 
@@ -101,87 +258,350 @@ public class GraphAnalyzer {
     }
 
     public static void main(String[] args) throws NotFoundException, IOException, BadBytecode, URISyntaxException {
-        GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
+        CommandLine line = parseArgumentsOrPrintUsage(args);
+        if ("stop".equalsIgnoreCase(line.getOptionValue(DAEMON))) {
+            if (!DaemonClient.shutdown(AnalysisDaemon.DEFAULT_PORT_FILE)) {
+                logger.info("No daemon is running");
+            }
+            return;
+        }
+        if (Boolean.parseBoolean(line.getOptionValue(DAEMON))) {
+            AnalysisDaemon daemon = new AnalysisDaemon(new GraphAnalyzer(), AnalysisDaemon.DEFAULT_PORT_FILE);
+            daemon.start();
+            daemon.awaitShutdown();
+            return;
+        }
+        File workingDir = new File("").getAbsoluteFile();
+        if (!"false".equalsIgnoreCase(line.getOptionValue(USE_DAEMON))) {
+            List<String> results = DaemonClient.forward(AnalysisDaemon.DEFAULT_PORT_FILE, workingDir, args);
+            if (results != null) {
+                results.forEach(logger::info);
+                return;
+            }
+        }
+        new GraphAnalyzer().run(line, workingDir, new AnalysisCache());
+    }
 
+    public static Options getOptions() {
         Options options = new Options();
         options.addOption(INPUT);
         options.addOption(OUTPUT_FOLDER);
         options.addOption(TEST_DEP);
         options.addOption(TRANSITIVE_FUNC);
+        options.addOption(SINGLE_MVN_INVOCATION);
+        options.addOption(IN_PROCESS_TREE);
+        options.addOption(TREE_CACHE);
+        options.addOption(JAR_CACHE);
+        options.addOption(JARS_IN_PLACE);
+        options.addOption(BUILD_MODE);
+        options.addOption(PHASE_TIMEOUTS);
+        options.addOption(REACTOR);
+        options.addOption(REACTOR_TREE);
+        options.addOption(TREE_FORMAT);
+        options.addOption(WORKERS);
+        options.addOption(INDEX_WORKERS);
+        options.addOption(BATCH);
+        options.addOption(MAVEN_PROCESSES);
+        options.addOption(DAEMON);
+        options.addOption(USE_DAEMON);
+        return options;
+    }
+
+    /**
+     * Parse and validate the command line arguments
+     *
+     * @param args the command line arguments
+     * @return the parsed arguments
+     * @throws org.apache.commons.cli.ParseException exception thrown if the arguments are invalid
+     */
+    static CommandLine parseArguments(String[] args) throws org.apache.commons.cli.ParseException {
+        CommandLine line = new DefaultParser().parse(getOptions(), args);
+        String daemon = line.getOptionValue(DAEMON);
+        if (!line.hasOption(INPUT) && !Boolean.parseBoolean(daemon) && !"stop".equalsIgnoreCase(daemon)) {
+            throw new MissingOptionException(Collections.singletonList(INPUT.getOpt()));
+        }
+        createConfig(line, new File("").getAbsoluteFile());
+        return line;
+    }
 
-        // create the parser
-        CommandLineParser parser = new DefaultParser();
-        // parse the command line arguments
-        CommandLine line;
-        String input;
-        boolean excludeTestScope;
-        boolean showTransitiveFunc;
+    private static CommandLine parseArgumentsOrPrintUsage(String[] args) {
         try {
-            line = parser.parse(options, args);
-            input = line.getParsedOptionValue(INPUT);
-            REPORT_FOLDER = line.getOptionValue(OUTPUT_FOLDER);
-            excludeTestScope = Boolean.parseBoolean(line.getParsedOptionValue(TEST_DEP));
-            showTransitiveFunc = Boolean.parseBoolean(line.getParsedOptionValue(TRANSITIVE_FUNC));
-        } catch (org.apache.commons.cli.ParseException e) {
+            return parseArguments(args);
+        } catch (org.apache.commons.cli.ParseException | IllegalArgumentException e) {
             HelpFormatter helpFormatter = new HelpFormatter();
-            helpFormatter.printHelp("java -cp <path-to-build-jar>" + GraphAnalyzer.class.getName(), options);
+            helpFormatter.printHelp("java -cp <path-to-build-jar>" + GraphAnalyzer.class.getName(), getOptions());
             throw new RuntimeException(e);
         }
+    }
 
-        File projectPom = new File(input);
+    /**
+     * Run the analysis requested by the command line arguments
+     *
+     * @param line       the parsed command line arguments
+     * @param workingDir the folder against which the relative paths of the arguments are resolved
+     * @param cache      the jar classes and standard Java references shared with the other analyses
+     * @return the summaries of the analyzed projects, empty if the input does not exist
+     */
+    public List<AnalysisSummary> run(CommandLine line, File workingDir, AnalysisCache cache) throws NotFoundException, IOException, BadBytecode, URISyntaxException {
+        String input = line.getOptionValue(INPUT);
+        AnalysisConfig config;
+        try {
+            config = createConfig(line, workingDir);
+        } catch (org.apache.commons.cli.ParseException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+        File projectPom = resolvePath(workingDir, input);
 
         if (!projectPom.exists()) {
             logger.error(String.format("Invalid Maven project path: %s", input));
-            return;
+            return Collections.emptyList();
+        }
+        if (config.isBatch()) {
+            return new BatchAnalyzer(this).analyze(projectPom, config, cache);
+        } else if (config.isReactor()) {
+            return new ReactorAnalyzer(this).analyze(projectPom, config, cache);
+        } else {
+            return Collections.singletonList(analyze(projectPom, config, cache));
+        }
+    }
+
+    private static AnalysisConfig createConfig(CommandLine line, File workingDir) throws org.apache.commons.cli.ParseException {
+        AnalysisConfig config = new AnalysisConfig();
+        if (line.hasOption(OUTPUT_FOLDER)) {
+            config.setReportFolder(resolvePath(workingDir, line.getOptionValue(OUTPUT_FOLDER)).getPath());
+        }
+        config.setExcludeTestScope(Boolean.parseBoolean(line.getParsedOptionValue(TEST_DEP)));
+        config.setShowTransitiveFunc(Boolean.parseBoolean(line.getParsedOptionValue(TRANSITIVE_FUNC)));
+        config.setSingleMavenInvocation(Boolean.parseBoolean(line.getParsedOptionValue(SINGLE_MVN_INVOCATION)));
+        config.setResolveTreeInProcess(Boolean.parseBoolean(line.getParsedOptionValue(IN_PROCESS_TREE)));
+        config.setIndexJarsInPlace(Boolean.parseBoolean(line.getParsedOptionValue(JARS_IN_PLACE)));
+        if (line.hasOption(BUILD_MODE)) {
+            config.setBuildMode(BuildMode.valueOf(line.getOptionValue(BUILD_MODE).toUpperCase(Locale.ROOT)));
+        }
+        config.setReactor(Boolean.parseBoolean(line.getParsedOptionValue(REACTOR)));
+        config.setReactorTree(Boolean.parseBoolean(line.getParsedOptionValue(REACTOR_TREE)));
+        if (line.hasOption(TREE_FORMAT)) {
+            config.setTreeFormat(InputType.valueOf(line.getOptionValue(TREE_FORMAT).toUpperCase(Locale.ROOT)));
+        }
+        if (line.hasOption(WORKERS)) {
+            config.setWorkers(Integer.parseInt(line.getOptionValue(WORKERS)));
+        }
+        if (line.hasOption(INDEX_WORKERS)) {
+            config.setIndexWorkers(Integer.parseInt(line.getOptionValue(INDEX_WORKERS)));
+        }
+        config.setBatch(Boolean.parseBoolean(line.getParsedOptionValue(BATCH)));
+        if (line.hasOption(MAVEN_PROCESSES)) {
+            config.setMavenProcesses(Integer.parseInt(line.getOptionValue(MAVEN_PROCESSES)));
+        }
+        if (line.hasOption(PHASE_TIMEOUTS)) {
+            setPhaseTimeouts(config, line.getOptionValue(PHASE_TIMEOUTS));
+        }
+        if (line.hasOption(TREE_CACHE)) {
+            config.setTreeCacheFolder(resolvePath(workingDir, line.getOptionValue(TREE_CACHE)));
+        }
+        if (line.hasOption(JAR_CACHE)) {
+            config.setJarCacheFolder(resolvePath(workingDir, line.getOptionValue(JAR_CACHE)));
+        }
+        return config;
+    }
+
+    static File resolvePath(File workingDir, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? file : new File(workingDir, path);
+    }
+
+    /**
+     * Set the timeouts given as a comma separated list of phase=seconds
+     */
+    private static void setPhaseTimeouts(AnalysisConfig config, String phaseTimeouts) {
+        for (String phaseTimeout : phaseTimeouts.split(",")) {
+            String[] parts = phaseTimeout.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(String.format("Invalid phase timeout: %s", phaseTimeout));
+            }
+            Duration timeout = Duration.ofSeconds(Long.parseLong(parts[1].trim()));
+            switch (parts[0].trim()) {
+                case "tree":
+                    config.setTreeTimeout(timeout);
+                    break;
+                case "copy":
+                    config.setDependencyTimeout(timeout);
+                    break;
+                case "compile":
+                    config.setCompileTimeout(timeout);
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown phase: %s", parts[0]));
+            }
         }
-        graphAnalyzer.analyze(excludeTestScope, showTransitiveFunc, projectPom);
     }
 
     public void analyze(boolean excludeTestScope, boolean showTransitiveFunc, File projectPom) throws IOException, NotFoundException, BadBytecode, URISyntaxException {
-        Graph<Node, DefaultEdge> dependencyTree = extractDependencyTree(projectPom.getParentFile());
+        AnalysisConfig config = new AnalysisConfig();
+        config.setExcludeTestScope(excludeTestScope);
+        config.setShowTransitiveFunc(showTransitiveFunc);
+        analyze(projectPom, config);
+    }
+
+    public AnalysisSummary analyze(File projectPom, AnalysisConfig config) throws IOException, NotFoundException, BadBytecode, URISyntaxException {
+        return analyze(projectPom, config, new AnalysisCache());
+    }
+
+    /**
+     * Analyze the project and generate its reports
+     *
+     * @param projectPom the pom file of the project
+     * @param config     the settings of the analysis, the reports are generated in its report folder when it is set
+     *                   instead of the {@link #REPORT_FOLDER}
+     * @param cache      the jar classes and standard Java references shared with the other analyzed projects
+     * @return the summary of the analysis
+     */
+    public AnalysisSummary analyze(File projectPom, AnalysisConfig config, AnalysisCache cache) throws IOException, NotFoundException, BadBytecode, URISyntaxException {
+        return analyze(projectPom, config, cache, null);
+    }
+
+    /**
+     * Analyze the project with a dependency tree which was already generated, e.g. for all modules of a reactor at once
+     *
+     * @param projectPom     the pom file of the project
+     * @param config         the settings of the analysis
+     * @param cache          the jar classes and standard Java references shared with the other analyzed projects
+     * @param dependencyTree the dependency tree of the project, it is generated if null
+     * @return the summary of the analysis
+     */
+    public AnalysisSummary analyze(File projectPom, AnalysisConfig config, AnalysisCache cache, Graph<Node, DefaultEdge> dependencyTree) throws IOException, NotFoundException, BadBytecode, URISyntaxException {
+        File projectDir = projectPom.getParentFile();
+        String reportFolder = config.getReportFolder() != null ? config.getReportFolder() : REPORT_FOLDER;
+        MavenInvocation mavenInvocation = null;
+        DependencyTreeCache treeCache = null;
+        String treeCacheKey = null;
+        if (dependencyTree == null && config.getTreeCacheFolder() != null) {
+            treeCache = new DependencyTreeCache(config.getTreeCacheFolder());
+            treeCacheKey = treeCache.computeKey(projectPom, config.isResolveTreeInProcess(), config.getTreeFormat());
+            dependencyTree = treeCache.load(treeCacheKey);
+            if (dependencyTree != null) {
+                logger.info("Loaded the dependency tree from the cache");
+            }
+        }
+        boolean treeCached = dependencyTree != null;
+        if (dependencyTree == null && config.isResolveTreeInProcess()) {
+            dependencyTree = new InProcessTreeResolver().resolve(projectPom);
+            if (dependencyTree == null) {
+                logger.info("Generating the dependency tree with Maven since it could not be resolved from the local repository");
+                // the tree Maven generated for an earlier run is used the same way
+                if (treeCache != null) {
+                    treeCacheKey = treeCache.computeKey(projectPom, false, config.getTreeFormat());
+                    dependencyTree = treeCache.load(treeCacheKey);
+                    treeCached = dependencyTree != null;
+                }
+            }
+        }
+        if (config.isSingleMavenInvocation()) {
+            mavenInvocation = MavenInvocation.run(projectDir, MAVEN_CMD, config, dependencyTree == null);
+            if (dependencyTree == null) {
+                if (!mavenInvocation.isTreeGenerated()) {
+                    logger.warn("Failed to generate the dependency tree for the project");
+                    throw new RuntimeException("Error occurred while generating the dependency tree");
+                }
+                dependencyTree = loadDependencyTree(projectDir, config.getTreeFormat());
+            }
+        } else if (dependencyTree == null) {
+            dependencyTree = extractDependencyTree(projectDir, config.getTreeTimeout(), config.getTreeFormat(), config.getCommandPermits());
+        }
+        if (treeCache != null && !treeCached) {
+            treeCache.store(treeCacheKey, dependencyTree);
+        }
 
         BreadthFirstIterator<Node, DefaultEdge> iterator = new BreadthFirstIterator<>(dependencyTree);
         Node rootNode = iterator.next();
-        PROJECT_NAME = rootNode.getGroupId() + ":" + rootNode.getArtifactId();
-        DepUsage depUsage = new DepUsage();
+        String projectName = rootNode.getArtifactKey();
+        DepUsage depUsage = new DepUsage(config, cache);
         Map<String, Set<Reference>> allUnMappedReferences = new HashMap<>();
-        depUsage.extractDepUsage(dependencyTree, projectPom.getParentFile(), MAVEN_CMD, allUnMappedReferences);
-        Set<String> containsConflicts = new HashSet<>();
-        Map<String, Integer> duplicateNodes = findDuplicates(dependencyTree, excludeTestScope, containsConflicts);
+        if (mavenInvocation != null) {
+            depUsage.extractDepUsage(dependencyTree, projectDir, mavenInvocation, allUnMappedReferences);
+        } else {
+            depUsage.extractDepUsage(dependencyTree, projectDir, MAVEN_CMD, allUnMappedReferences);
+        }
+        // the structure of the tree is final from here on, the passes below walk its compact copy
+        CompactTree compactTree = new CompactTree(dependencyTree);
+        ResolutionIndex resolutionIndex = new ResolutionIndex(dependencyTree, config.isExcludeTestScope());
+        Set<String> containsConflicts = resolutionIndex.getConflictedArtifacts();
 
         // check for bloated direct dependencies by iterating through all its child nodes to check if any functionalities are used
-        checkBloatedDep(dependencyTree, rootNode);
+        checkBloatedDep(compactTree);
+        // rank the direct dependencies by what their removal takes off the classpath
+        List<RemovalImpact> removalCandidates = new DominatorTree(compactTree, config.isExcludeTestScope()).getRemovalCandidates();
 
         // generate colors
-        Map<String, ColorStyleTracker> generateColors = ColorGenerator.generateColors(duplicateNodes);
-        Map<Node, String> hrefTransitiveMap = new HashMap<>();
+        Map<String, ColorStyleTracker> generateColors = ColorGenerator.generateColors(resolutionIndex);
+        Map<Node, String> hrefTransitiveMap = Node.newIdentityMap();
         MermaidFileGenerator mermaidFileGenerator = new MermaidFileGenerator();
-        mermaidFileGenerator.exportToMermaid(dependencyTree, generateColors, excludeTestScope, showTransitiveFunc, hrefTransitiveMap, allUnMappedReferences, containsConflicts);
+        mermaidFileGenerator.exportToMermaid(reportFolder, compactTree, generateColors, config.isExcludeTestScope(), config.isShowTransitiveFunc(), hrefTransitiveMap, allUnMappedReferences, containsConflicts);
 
         // generate the html
-        HTMLReport.generateDependencyDetailsHTML(PROJECT_NAME, dependencyTree, hrefTransitiveMap, allUnMappedReferences);
+        HTMLReport.generateDependencyDetailsHTML(reportFolder, projectName, compactTree, hrefTransitiveMap, allUnMappedReferences, removalCandidates);
         // write CSV file with all the data
-        writeDataToCSV(dependencyTree, allUnMappedReferences);
+        writeDataToCSV(reportFolder, compactTree, removalCandidates, allUnMappedReferences);
         //  generateXML(dependencyTree);
+        return summarize(projectPom, projectName, reportFolder, dependencyTree, config.isExcludeTestScope(), resolutionIndex, allUnMappedReferences);
     }
 
-    private void checkBloatedDep(Graph<Node, DefaultEdge> dependencyTree, Node rootNode) {
-        List<Node> directDeps = Graphs.successorListOf(dependencyTree, rootNode);
+    private AnalysisSummary summarize(File projectPom, String projectName, String reportFolder, Graph<Node, DefaultEdge> dependencyTree, boolean removeTestDep, ResolutionIndex resolutionIndex, Map<String, Set<Reference>> allUnMappedReferences) {
+        AnalysisSummary summary = new AnalysisSummary();
+        summary.setProjectPom(projectPom);
+        summary.setProjectName(projectName);
+        summary.setReportFolder(reportFolder);
+        summary.setConflicts(resolutionIndex.getConflictedArtifacts().size());
+        summary.getResolvedVersions().putAll(resolutionIndex.getWinningVersions());
+        summary.setUnmappedReferences(allUnMappedReferences.size());
+        for (Node node : dependencyTree.vertexSet()) {
+            if (node.getDepLevel() == 0 || (removeTestDep && node.getScope() != null && node.getScope().equals("test"))) {
+                continue;
+            }
+            summary.setDependencies(summary.getDependencies() + 1);
+            if (node.isOmitted()) {
+                summary.setOmittedDependencies(summary.getOmittedDependencies() + 1);
+            }
+            if (node.isBloatedDep()) {
+                summary.setBloatedDirectDependencies(summary.getBloatedDirectDependencies() + 1);
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Compute the usage of every subtree in one pass from the leaves up and flag the direct dependencies of which
+     * nothing is used, neither the dependency nor any of its transitive dependencies
+     */
+    protected void checkBloatedDep(CompactTree dependencyTree) {
+        int[] usedClasses = new int[dependencyTree.size()];
+        int[] usedReferences = new int[dependencyTree.size()];
+        int[] usedDescendants = new int[dependencyTree.size()];
+        // the children come after their parents in the breadth first order, so walking it backwards visits every
+        // subtree before its root
+        for (int index = dependencyTree.size() - 1; index >= 0; index--) {
+            int id = dependencyTree.getBreadthFirst(index);
+            Node node = dependencyTree.getNode(id);
+            usedClasses[id] += node.getReferences().size();
+            for (Set<Reference> references : node.getReferences().values()) {
+                usedReferences[id] += references.size();
+            }
+            node.setSubtreeUsedClasses(usedClasses[id]);
+            node.setSubtreeUsedReferences(usedReferences[id]);
+            node.setUsedDescendants(usedDescendants[id]);
+            int parent = dependencyTree.getParent(id);
+            if (parent != CompactTree.NO_PARENT) {
+                usedClasses[parent] += usedClasses[id];
+                usedReferences[parent] += usedReferences[id];
+                usedDescendants[parent] += usedDescendants[id] + (node.getReferences().isEmpty() ? 0 : 1);
+            }
+        }
+        int root = dependencyTree.getRoot();
         // check for bloated dependencies
-        for (Node directDep : directDeps) {
-            if (directDep.getReferences().isEmpty()) {
-                // check chile nodes if their functionalities are used
-                Iterator<Node> iterator = new BreadthFirstIterator<>(dependencyTree, directDep);
-                boolean referenceUsed = false;
-                while (iterator.hasNext()) {
-                    Node transitiveDep = iterator.next();
-                    if (!transitiveDep.getReferences().isEmpty()) {
-                        referenceUsed = true;
-                    }
-                }
-                if (!referenceUsed) {
-                    directDep.setBloatedDep(true);
-                }
+        for (int child = dependencyTree.getFirstChild(root); child < dependencyTree.getChildEnd(root); child++) {
+            int directDep = dependencyTree.getChild(child);
+            if (usedClasses[directDep] == 0) {
+                dependencyTree.getNode(directDep).setBloatedDep(true);
             }
         }
     }
@@ -213,39 +633,36 @@ public class GraphAnalyzer {
         System.out.println(writer);
     }
 
-    private void writeDataToCSV(Graph<Node, DefaultEdge> dependencyTree, Map<String, Set<Reference>> allUnMappedReferences) {
-        BreadthFirstIterator<Node, DefaultEdge> iterator = new BreadthFirstIterator<>(dependencyTree);
-        Set<DefaultEdge> visitedEdges = new HashSet<>();
+    private void writeDataToCSV(String reportFolder, CompactTree dependencyTree, List<RemovalImpact> removalCandidates, Map<String, Set<Reference>> allUnMappedReferences) {
         List<String[]> rows = new ArrayList<>();
-        while (iterator.hasNext()) {
-            Node node = iterator.next();
-            // Iterate through edges connected to this vertex
-            for (DefaultEdge edge : dependencyTree.edgesOf(node)) {
-                if (!visitedEdges.contains(edge)) {
-                    Node currentNode = dependencyTree.getEdgeTarget(edge);
-                    StringBuilder referencesString = new StringBuilder();
-                    HTMLReport.formatReferenceString(referencesString, dependencyTree.getEdgeTarget(edge).getReferences(), "\n");
-                    boolean conflicts = false;
-                    if (currentNode.getDescription() != null) {
-                        conflicts = currentNode.getDescription().contains("conflict with");
-                    }
-                    rows.add(new String[]{currentNode.getDependencyName(), currentNode.getScope(), String.valueOf(currentNode.getDepLevel()), String.valueOf(currentNode.isOmitted()), String.valueOf(conflicts), String.valueOf(currentNode.isBloatedDep()), referencesString.toString()});
-                    visitedEdges.add(edge);
-                }
-            }
+        // every dependency in the breadth first order, the root is not a dependency
+        for (int index = 1; index < dependencyTree.size(); index++) {
+            Node currentNode = dependencyTree.getNode(dependencyTree.getBreadthFirst(index));
+            StringBuilder referencesString = new StringBuilder();
+            HTMLReport.formatReferenceString(referencesString, currentNode.getReferences(), "\n");
+            rows.add(new String[]{currentNode.getDependencyName(), currentNode.getScope(), String.valueOf(currentNode.getDepLevel()), String.valueOf(currentNode.isOmitted()), String.valueOf(currentNode.isConflict()), String.valueOf(currentNode.isBloatedDep()), String.valueOf(currentNode.getSubtreeUsedClasses()), String.valueOf(currentNode.getSubtreeUsedReferences()), String.valueOf(currentNode.getUsedDescendants()), referencesString.toString()});
         }
 
-        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(Paths.get(REPORT_FOLDER, "DependencyDetails.csv")))) {
-            String[] header = {"Dependency", "Dependency Scope", "Dependency Level", "Omitted", "Conflicts", "Bloated Direct Dependency", "Invoked References"};
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(Paths.get(reportFolder, "DependencyDetails.csv")))) {
+            String[] header = {"Dependency", "Dependency Scope", "Dependency Level", "Omitted", "Conflicts", "Bloated Direct Dependency", "Used Classes In Subtree", "Used References In Subtree", "Used Transitive Dependencies", "Invoked References"};
 
             writer.writeNext(header);
             writer.writeAll(rows);
+
+            if (!removalCandidates.isEmpty()) {
+                // Added a space in between the two data
+                writer.writeNext(new String[]{});
+                writer.writeNext(new String[]{"Removal Candidates", "Exclusive Transitive Dependencies", "Exclusive Jar Size", "Exclusive Classes", "Exclusive Used References"});
+                for (RemovalImpact impact : removalCandidates) {
+                    writer.writeNext(new String[]{impact.getDependency().getDependencyName(), String.valueOf(impact.getExclusiveDependencies()), String.valueOf(impact.getJarSize()), String.valueOf(impact.getClassCount()), String.valueOf(impact.getUsedReferences())});
+                }
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
 
         if (!allUnMappedReferences.isEmpty()) {
-            try (CSVWriter writer = new CSVWriter(new FileWriter(Paths.get(REPORT_FOLDER, "DependencyDetails.csv").toString(), true))) {
+            try (CSVWriter writer = new CSVWriter(new FileWriter(Paths.get(reportFolder, "DependencyDetails.csv").toString(), true))) {
                 // Added a space in between the two data
                 writer.writeNext(new String[]{});
                 String[] header = {"Unmapped References"};
@@ -287,38 +704,61 @@ public class GraphAnalyzer {
     }
 
     protected Map<String, Integer> findDuplicates(Graph<Node, DefaultEdge> dependencyTree, boolean removeTestDep, Set<String> containsConflicts) {
-        List<Node> visitedNodes = new ArrayList<>();
-        Map<String, Integer> duplicateDeps = new HashMap<>();
-        for (Node node : dependencyTree.vertexSet()) {
-            if (removeTestDep && node.getScope() != null && node.getScope().equals("test")) {
-                continue;
-            }
-            for (Node visitedNode : visitedNodes) {
-                // TODO: have to decide if we are adding the classifier
-                if (visitedNode.getGroupId().equals(node.getGroupId()) && visitedNode.getArtifactId().equals(node.getArtifactId())) {
-                    duplicateDeps.put(String.format("%s:%s", node.getGroupId(), node.getArtifactId()), duplicateDeps.getOrDefault(String.format("%s:%s", node.getGroupId(), node.getArtifactId()), 1) + 1);
-                    break;
-                }
+        // TODO: have to decide if we are adding the classifier
+        ResolutionIndex resolutionIndex = new ResolutionIndex(dependencyTree, removeTestDep);
+        containsConflicts.addAll(resolutionIndex.getConflictedArtifacts());
+        return new HashMap<>(resolutionIndex.getDuplicatedArtifacts());
+    }
+
+    protected Graph<Node, DefaultEdge> extractDependencyTree(File projectDir) {
+        return extractDependencyTree(projectDir, CommandExecutor.DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Generate the dependency trees of every module of a reactor with one Maven execution at the reactor root. Each
+     * module appends its tree to the same file, which is parsed in to one graph per module. The graphml output can not
+     * be appended, so no trees are generated for it.
+     *
+     * @param reactorDir the directory of the aggregator pom
+     * @param timeout    the time the Maven execution is allowed to run
+     * @param treeFormat the output type of the trees
+     * @return the dependency tree of each module by its groupId:artifactId, empty if the trees could not be generated
+     */
+    protected Map<String, Graph<Node, DefaultEdge>> extractReactorTrees(File reactorDir, Duration timeout, InputType treeFormat) {
+        Map<String, Graph<Node, DefaultEdge>> reactorTrees = new LinkedHashMap<>();
+        if (treeFormat == InputType.GRAPHML) {
+            logger.warn("The graphml trees of the modules can not be combined, generating the tree of each module separately");
+            return reactorTrees;
+        }
+        File treeFile = new File(reactorDir, DEPENDENCY_TREE_FILE).getAbsoluteFile();
+        try {
+            // the trees are appended, so the file of a previous execution has to be removed first
+            Files.deleteIfExists(treeFile.toPath());
+            String command = String.format("%s %s -DoutputFile=%s -DoutputType=%s -DappendOutput=true -Dverbose",
+                    MAVEN_CMD, REACTOR_TREE_GOAL, treeFile, treeFormat.getOutputType());
+            if (!CommandExecutor.executeCommand(command, reactorDir, CommandMonitor.forMaven(timeout)).isSuccess() || !treeFile.exists()) {
+                logger.warn("Failed to generate the dependency trees of the reactor");
+                return reactorTrees;
             }
-            if (node.getDescription() != null && node.getDescription().contains("conflict with")) {
-                containsConflicts.add(String.format("%s:%s", node.getGroupId(), node.getArtifactId()));
+            for (Graph<Node, DefaultEdge> tree : readDependencyForest(treeFile, treeFormat)) {
+                Node root = new BreadthFirstIterator<>(tree).next();
+                reactorTrees.put(root.getArtifactKey(), tree);
             }
-            visitedNodes.add(node);
+        } catch (IOException e) {
+            logger.warn("Failed to generate the dependency trees of the reactor", e);
         }
-        return duplicateDeps;
+        return reactorTrees;
     }
 
-    protected Graph<Node, DefaultEdge> extractDependencyTree(File projectDir) {
+    protected Graph<Node, DefaultEdge> extractDependencyTree(File projectDir, Duration timeout) {
+        return extractDependencyTree(projectDir, timeout, InputType.TEXT, null);
+    }
+
+    protected Graph<Node, DefaultEdge> extractDependencyTree(File projectDir, Duration timeout, InputType treeFormat, Semaphore commandPermits) {
         try {
-            if (CommandExecutor.executeCommand(String.format("%s dependency:tree -DoutputFile=%s -Dverbose", MAVEN_CMD, DEPENDENCY_TREE_FILE), projectDir).contains("BUILD SUCCESS")) {
-                // Read json file to extract the dependency tree
-                // check if file exits
-                File dependencyTreeFile = new File(projectDir, DEPENDENCY_TREE_FILE);
-                if (!dependencyTreeFile.exists()) {
-                    logger.warn("Could not locate the file containing the dependency tree");
-                } else {
-                    return readDependencyTree(dependencyTreeFile);
-                }
+            String command = String.format("%s dependency:tree -DoutputFile=%s -DoutputType=%s -Dverbose", MAVEN_CMD, DEPENDENCY_TREE_FILE, treeFormat.getOutputType());
+            if (CommandExecutor.executeCommand(command, projectDir, CommandMonitor.forMaven(timeout), commandPermits).isSuccess()) {
+                return loadDependencyTree(projectDir, treeFormat);
             } else {
                 logger.warn("Failed to generate the dependency tree for the project");
             }
@@ -328,20 +768,40 @@ public class GraphAnalyzer {
         throw new RuntimeException("Error occurred while generating the dependency tree");
     }
 
+    private Graph<Node, DefaultEdge> loadDependencyTree(File projectDir, InputType treeFormat) {
+        // Read the file to extract the dependency tree
+        // check if file exits
+        File dependencyTreeFile = new File(projectDir, DEPENDENCY_TREE_FILE);
+        if (!dependencyTreeFile.exists()) {
+            logger.warn("Could not locate the file containing the dependency tree");
+            throw new RuntimeException("Error occurred while generating the dependency tree");
+        }
+        return readDependencyTree(dependencyTreeFile, treeFormat);
+    }
+
     protected Graph<Node, DefaultEdge> readDependencyTree(File depTreeFile) {
-        Reader r = null;
-        try {
-            r = new BufferedReader(new InputStreamReader(new FileInputStream(depTreeFile), StandardCharsets.UTF_8));
+        return readDependencyTree(depTreeFile, InputType.TEXT);
+    }
+
+    protected Graph<Node, DefaultEdge> readDependencyTree(File depTreeFile, InputType treeFormat) {
+        Parser parser = treeFormat.newParser();
+        // the tree is parsed while it is read, so only a chunk of the file is held in memory
+        try (Reader r = new BufferedReader(new InputStreamReader(new FileInputStream(depTreeFile), StandardCharsets.UTF_8), TREE_READ_BUFFER_SIZE)) {
+            return parser.parse(r);
         } catch (FileNotFoundException e) {
             logger.warn(String.format("Failed to locate dependency tree file: %s", depTreeFile));
-        }
-        Parser parser = new TextParser();
-        try {
-            return parser.parse(r);
-        } catch (ParseException e) {
+        } catch (ParseException | IOException e) {
             logger.warn(String.format("Failed to parse the dependency tree file: %s", depTreeFile));
         }
         throw new RuntimeException();
     }
 
+    protected List<Graph<Node, DefaultEdge>> readDependencyForest(File depTreeFile, InputType treeFormat) throws IOException {
+        try (Reader r = new BufferedReader(new InputStreamReader(new FileInputStream(depTreeFile), StandardCharsets.UTF_8), TREE_READ_BUFFER_SIZE)) {
+            return treeFormat == InputType.JSON ? new JsonTreeParser().parseForest(r) : new TextParser().parseForest(r);
+        } catch (ParseException e) {
+            throw new IOException(String.format("Failed to parse the dependency tree file: %s", depTreeFile), e);
+        }
+    }
+
 }
@@ -0,0 +1,221 @@
+package org.dep.analyzer;
+
+import fr.dutra.tools.maven.deptree.core.Node;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.dep.util.MavenLocalRepository;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactProperties;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.WorkspaceReader;
+import org.eclipse.aether.repository.WorkspaceRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.supplier.RepositorySystemSupplier;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+import org.eclipse.aether.util.repository.SimpleArtifactDescriptorPolicy;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolves the dependency tree of a project within the analyzer process using the local Maven repository, instead of
+ * executing {@code mvn dependency:tree -Dverbose}. The omitted, conflicting and duplicate dependencies are kept in the
+ * tree with the same descriptions used by the verbose dependency tree.
+ */
+public class InProcessTreeResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(InProcessTreeResolver.class);
+    private static final RemoteRepository CENTRAL = new RemoteRepository.Builder("central", "default", "https://repo.maven.apache.org/maven2/").build();
+    private static final String DEFAULT_SCOPE = "compile";
+
+    private static RepositorySystem repositorySystem;
+
+    /**
+     * Resolve the dependency tree of the project offline
+     *
+     * @param projectPom the pom file of the project
+     * @return the dependency tree, or null if the project could not be resolved from the local repository
+     */
+    public Graph<Node, DefaultEdge> resolve(File projectPom) {
+        Model model = readModel(projectPom);
+        if (model == null) {
+            return null;
+        }
+        String groupId = model.getGroupId() == null && model.getParent() != null ? model.getParent().getGroupId() : model.getGroupId();
+        String version = model.getVersion() == null && model.getParent() != null ? model.getParent().getVersion() : model.getVersion();
+        if (groupId == null || version == null || version.contains("${")) {
+            logger.warn(String.format("Could not determine the coordinates of the project %s", projectPom));
+            return null;
+        }
+        Artifact projectArtifact = new DefaultArtifact(groupId, model.getArtifactId(), "pom", version);
+
+        RepositorySystem system = getRepositorySystem();
+        DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+        session.setOffline(true);
+        // keep the omitted dependencies and the versions before dependency management was applied
+        session.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, true);
+        session.setConfigProperty(DependencyManagerUtils.CONFIG_PROP_VERBOSE, true);
+        // a missing or invalid pom would result in an incomplete tree
+        session.setArtifactDescriptorPolicy(new SimpleArtifactDescriptorPolicy(false, false));
+        session.setSystemProperties(System.getProperties());
+        session.setWorkspaceReader(new ProjectWorkspaceReader(projectArtifact, projectPom));
+        session.setLocalRepositoryManager(system.newLocalRepositoryManager(session, new LocalRepository(MavenLocalRepository.getLocation(), "simple")));
+
+        try {
+            ArtifactDescriptorResult descriptor = system.readArtifactDescriptor(session, new ArtifactDescriptorRequest(projectArtifact, List.of(CENTRAL), null));
+            List<RemoteRepository> repositories = new ArrayList<>(descriptor.getRepositories());
+            repositories.add(CENTRAL);
+            CollectRequest collectRequest = new CollectRequest();
+            collectRequest.setRootArtifact(descriptor.getArtifact());
+            collectRequest.setDependencies(descriptor.getDependencies());
+            collectRequest.setManagedDependencies(descriptor.getManagedDependencies());
+            collectRequest.setRepositories(system.newResolutionRepositories(session, repositories));
+            CollectResult collectResult = system.collectDependencies(session, collectRequest);
+            if (!collectResult.getExceptions().isEmpty()) {
+                logger.warn(String.format("Could not resolve the dependency tree from the local repository: %s", collectResult.getExceptions().get(0).getMessage()));
+                return null;
+            }
+
+            Graph<Node, DefaultEdge> dependencyTree = new DefaultDirectedGraph<>(DefaultEdge.class);
+            DependencyNode root = collectResult.getRoot();
+            Artifact rootArtifact = root.getArtifact();
+            Node rootNode = new Node(rootArtifact.getGroupId(), rootArtifact.getArtifactId(), model.getPackaging(), null,
+                    rootArtifact.getBaseVersion(), null, null, 0, false);
+            dependencyTree.addVertex(rootNode);
+            Set<DependencyNode> ancestors = Collections.newSetFromMap(new IdentityHashMap<>());
+            ancestors.add(root);
+            addChildNodes(dependencyTree, root, rootNode, 1, ancestors);
+            return dependencyTree;
+        } catch (Exception e) {
+            logger.warn(String.format("Could not resolve the dependency tree from the local repository: %s", e.getMessage()));
+        }
+        return null;
+    }
+
+    private void addChildNodes(Graph<Node, DefaultEdge> dependencyTree, DependencyNode parent, Node parentNode, int depth, Set<DependencyNode> ancestors) {
+        for (DependencyNode child : parent.getChildren()) {
+            // the collected graph can refer back to an ancestor when the dependencies contain a cycle
+            boolean cycle = ancestors.contains(child);
+            Node childNode = toNode(child, depth, cycle);
+            dependencyTree.addVertex(childNode);
+            dependencyTree.addEdge(parentNode, childNode);
+            if (!cycle && !childNode.isOmitted()) {
+                ancestors.add(child);
+                addChildNodes(dependencyTree, child, childNode, depth + 1, ancestors);
+                ancestors.remove(child);
+            }
+        }
+    }
+
+    private Node toNode(DependencyNode dependencyNode, int depth, boolean cycle) {
+        Artifact artifact = dependencyNode.getArtifact();
+        Dependency dependency = dependencyNode.getDependency();
+        String scope = dependency.getScope().isEmpty() ? DEFAULT_SCOPE : dependency.getScope();
+        String classifier = artifact.getClassifier().isEmpty() ? null : artifact.getClassifier();
+        String type = artifact.getProperty(ArtifactProperties.TYPE, artifact.getExtension());
+
+        // build the description in the same format as the verbose dependency tree
+        List<String> details = new ArrayList<>();
+        String premanagedVersion = DependencyManagerUtils.getPremanagedVersion(dependencyNode);
+        if (premanagedVersion != null && !premanagedVersion.equals(artifact.getBaseVersion())) {
+            details.add("version managed from " + premanagedVersion);
+        }
+        String premanagedScope = DependencyManagerUtils.getPremanagedScope(dependencyNode);
+        if (premanagedScope != null && !premanagedScope.equals(scope)) {
+            details.add("scope managed from " + premanagedScope);
+        }
+        DependencyNode winner = (DependencyNode) dependencyNode.getData().get(ConflictResolver.NODE_DATA_WINNER);
+        boolean omitted = cycle || winner != null;
+        if (cycle) {
+            details.add("omitted for cycle");
+        } else if (winner != null) {
+            String winnerVersion = winner.getArtifact().getBaseVersion();
+            if (winnerVersion.equals(artifact.getBaseVersion())) {
+                details.add("omitted for duplicate");
+            } else {
+                details.add("omitted for conflict with " + winnerVersion);
+            }
+        }
+        String description = details.isEmpty() ? null : String.join("; ", details);
+        return new Node(artifact.getGroupId(), artifact.getArtifactId(), type, classifier, artifact.getBaseVersion(),
+                scope, description, depth, omitted);
+    }
+
+    private Model readModel(File projectPom) {
+        try (Reader reader = new FileReader(projectPom)) {
+            return new MavenXpp3Reader().read(reader);
+        } catch (Exception e) {
+            logger.warn(String.format("Failed to read the project pom: %s", projectPom));
+            return null;
+        }
+    }
+
+    private static synchronized RepositorySystem getRepositorySystem() {
+        if (repositorySystem == null) {
+            repositorySystem = new RepositorySystemSupplier().get();
+        }
+        return repositorySystem;
+    }
+
+    /**
+     * Provides the pom of the project under analysis, which may not be installed in the local repository
+     */
+    private static class ProjectWorkspaceReader implements WorkspaceReader {
+
+        private final WorkspaceRepository repository = new WorkspaceRepository("project");
+        private final Artifact projectArtifact;
+        private final File projectPom;
+
+        ProjectWorkspaceReader(Artifact projectArtifact, File projectPom) {
+            this.projectArtifact = projectArtifact;
+            this.projectPom = projectPom;
+        }
+
+        @Override
+        public WorkspaceRepository getRepository() {
+            return repository;
+        }
+
+        @Override
+        public File findArtifact(Artifact artifact) {
+            if (isProjectArtifact(artifact) && artifact.getVersion().equals(projectArtifact.getVersion()) && "pom".equals(artifact.getExtension())) {
+                return projectPom;
+            }
+            return null;
+        }
+
+        @Override
+        public List<String> findVersions(Artifact artifact) {
+            if (isProjectArtifact(artifact)) {
+                return List.of(projectArtifact.getVersion());
+            }
+            return Collections.emptyList();
+        }
+
+        private boolean isProjectArtifact(Artifact artifact) {
+            return artifact.getGroupId().equals(projectArtifact.getGroupId()) && artifact.getArtifactId().equals(projectArtifact.getArtifactId());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.dep.analyzer;
+
+import org.dep.model.AnalysisConfig;
+import org.dep.util.CommandExecutor;
+import org.dep.util.CommandMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.dep.util.Helper.createFolderIfNotExists;
+
+/**
+ * Runs the dependency tree, dependency copy (or resolve, when the jars are indexed in the local repository) and compile
+ * goals of a project in a single Maven execution, so that the Maven startup cost is only paid once. The outcome of each goal is checked separately from the build output.
+ */
+public class MavenInvocation {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenInvocation.class);
+
+    // Maven prints the goal being executed as "--- dependency:3.7.0:tree (default-cli) @ project ---"
+    private static final String GOAL_START = "--- ";
+    private static final String GOAL_FAILED = "Failed to execute goal";
+    private static final String TREE_GOAL = ":tree (";
+    private static final String COPY_GOAL = ":copy-dependencies (";
+    private static final String RESOLVE_GOAL = ":resolve (";
+    private static final String COMPILE_GOAL = ":compile (";
+    private static final String TEST_COMPILE_GOAL = ":testCompile (";
+
+    private boolean treeStarted;
+    private boolean resolveStarted;
+    private boolean compileStarted;
+    private boolean testCompileStarted;
+    private boolean treeFailed;
+    private boolean resolveFailed;
+    private boolean compileFailed;
+
+    private boolean treeGenerated;
+    private boolean dependenciesResolved;
+    private boolean projectCompiled;
+
+    private MavenInvocation() {
+    }
+
+    /**
+     * Generate the dependency tree, copy the dependencies and compile the project in one Maven execution
+     *
+     * @param projectDir   the local directory which contains the project
+     * @param mvnCmd       the command used to execute Maven
+     * @param config       the settings of the analysis
+     * @param generateTree if the dependency tree should be generated as well
+     * @return the outcome of each goal
+     * @throws IOException exception thrown if Maven could not be executed
+     */
+    public static MavenInvocation run(File projectDir, String mvnCmd, AnalysisConfig config, boolean generateTree) throws IOException {
+        MavenInvocation invocation = new MavenInvocation();
+        String dependencyGoal;
+        if (config.isIndexJarsInPlace()) {
+            // the jars only need to be downloaded in to the local repository
+            dependencyGoal = "dependency:resolve";
+        } else {
+            String depCopiedLocation = new File(projectDir, DepUsage.COPY_DEPENDENCY_FOLDER).toString();
+            // the dependencies are copied in to a clean folder
+            if (!createFolderIfNotExists(depCopiedLocation)) {
+                logger.warn("Failed to create folder to copy the dependencies");
+                return invocation;
+            }
+            dependencyGoal = String.format("dependency:copy-dependencies -DoutputDirectory=%s", depCopiedLocation);
+        }
+        boolean compile = ProjectBuild.requiresCompile(projectDir, config);
+        String command = mvnCmd + " " + getGoals(dependencyGoal, generateTree, compile, config);
+        // each goal has its own timeout, which starts when Maven prints the goal
+        CommandMonitor monitor = CommandMonitor.forMaven(CommandExecutor.DEFAULT_TIMEOUT)
+                .addPhase(TREE_GOAL, config.getTreeTimeout())
+                .addPhase(COPY_GOAL, config.getDependencyTimeout())
+                .addPhase(RESOLVE_GOAL, config.getDependencyTimeout())
+                .addPhase(COMPILE_GOAL, config.getCompileTimeout())
+                .addPhase(TEST_COMPILE_GOAL, config.getCompileTimeout())
+                .setLineListener(invocation::checkGoal);
+        long buildStart = System.currentTimeMillis();
+        CommandExecutor.executeCommand(command, projectDir, monitor, config.getCommandPermits());
+        invocation.checkOutcome(monitor, compile, !config.isExcludeTestScope());
+        if (compile && invocation.projectCompiled) {
+            ProjectBuild.recordBuild(projectDir, buildStart, !config.isExcludeTestScope());
+        }
+        return invocation;
+    }
+
+    /**
+     * Order the goals of the execution as clean, dependencies, tree and compile. dependency:resolve writes the resolved
+     * files to the outputFile as well, so the tree has to be written after it or the tree file is overwritten.
+     *
+     * @param dependencyGoal the goal which copies or resolves the dependencies
+     * @param generateTree   if the dependency tree should be generated as well
+     * @param compile        if the project has to be compiled
+     * @param config         the settings of the analysis
+     * @return the goals of the Maven execution
+     */
+    static String getGoals(String dependencyGoal, boolean generateTree, boolean compile, AnalysisConfig config) {
+        String cleanGoal = compile && ProjectBuild.requiresClean(config) ? "clean " : "";
+        String treeGoal = generateTree ? String.format(" dependency:tree -DoutputFile=%s -DoutputType=%s -Dverbose",
+                GraphAnalyzer.DEPENDENCY_TREE_FILE, config.getTreeFormat().getOutputType()) : "";
+        String compileGoals = compile ? " " + ProjectBuild.getCompileGoals(config) : "";
+        return cleanGoal + dependencyGoal + treeGoal + compileGoals;
+    }
+
+    /**
+     * Check each line of the build output as it is printed to identify which goals were executed and which of them
+     * failed
+     *
+     * @param line a line of the output of the Maven execution
+     */
+    private void checkGoal(String line) {
+        if (line.contains(GOAL_START)) {
+            treeStarted |= line.contains(TREE_GOAL);
+            resolveStarted |= line.contains(COPY_GOAL) || line.contains(RESOLVE_GOAL);
+            compileStarted |= line.contains(COMPILE_GOAL);
+            testCompileStarted |= line.contains(TEST_COMPILE_GOAL);
+        } else if (line.contains(GOAL_FAILED)) {
+            treeFailed |= line.contains(TREE_GOAL);
+            resolveFailed |= line.contains(COPY_GOAL) || line.contains(RESOLVE_GOAL);
+            compileFailed |= line.contains(COMPILE_GOAL) || line.contains(TEST_COMPILE_GOAL);
+        }
+    }
+
+    /**
+     * Determine the outcome of each goal once the Maven execution finished
+     *
+     * @param monitor      the monitor of the Maven execution
+     * @param compiled     if the compile goals were part of the execution, otherwise the existing classes are used
+     * @param testCompiled if the test-compile goal was part of the execution
+     */
+    private void checkOutcome(CommandMonitor monitor, boolean compiled, boolean testCompiled) {
+        boolean buildSuccess = monitor.isSuccess();
+        // a goal which was still running when its phase timed out did not complete
+        boolean timedOut = monitor.isTimedOut();
+        String timedOutPhase = monitor.getTimedOutPhase();
+        treeGenerated = treeStarted && !treeFailed && !(timedOut && TREE_GOAL.equals(timedOutPhase));
+        dependenciesResolved = resolveStarted && !resolveFailed && !(timedOut && (COPY_GOAL.equals(timedOutPhase) || RESOLVE_GOAL.equals(timedOutPhase)));
+        // projects without sources to compile (e.g. pom packaging) still build successfully
+        projectCompiled = !compiled || buildSuccess || (!timedOut && compileStarted && (testCompileStarted || !testCompiled) && !compileFailed);
+        if (!buildSuccess) {
+            logger.warn(String.format("Maven execution failed, dependency tree generated: %s, dependencies resolved: %s, project compiled: %s",
+                    treeGenerated, dependenciesResolved, projectCompiled));
+        }
+    }
+
+    public boolean isTreeGenerated() {
+        return treeGenerated;
+    }
+
+    /**
+     * @return if the dependencies were copied, or resolved in to the local repository when the jars are indexed in place
+     */
+    public boolean isDependenciesResolved() {
+        return dependenciesResolved;
+    }
+
+    public boolean isProjectCompiled() {
+        return projectCompiled;
+    }
+}
@@ -0,0 +1,133 @@
+package org.dep.analyzer;
+
+import org.dep.model.AnalysisConfig;
+import org.dep.model.BuildMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Decides which Maven goals are needed to have up to date classes of the project for the analysis
+ */
+public class ProjectBuild {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectBuild.class);
+    private static final String COMPILE_GOAL = "compile";
+    private static final String TEST_COMPILE_GOAL = "test-compile";
+    private static final String SOURCE_FOLDER = "src";
+    private static final String MAIN_SOURCE_FOLDER = "src" + File.separator + "main";
+    private static final String CLASSES_FOLDER = "target" + File.separator + "classes";
+    // the time of the last successful build and if it compiled the tests
+    private static final String BUILD_STAMP_FILE = "target" + File.separator + "dependency-audit-build.stamp";
+    private static final String POM_FILE = "pom.xml";
+    private static final String JAVA_SOURCE_EXTENSION = ".java";
+
+    private ProjectBuild() {
+    }
+
+    /**
+     * @param config the settings of the analysis
+     * @return the goals which compile the project, the tests are not compiled when the test scope is excluded
+     */
+    public static String getCompileGoals(AnalysisConfig config) {
+        return config.isExcludeTestScope() ? COMPILE_GOAL : COMPILE_GOAL + " " + TEST_COMPILE_GOAL;
+    }
+
+    /**
+     * @param config the settings of the analysis
+     * @return if the existing classes should be removed before compiling the project
+     */
+    public static boolean requiresClean(AnalysisConfig config) {
+        return config.getBuildMode() == BuildMode.CLEAN;
+    }
+
+    /**
+     * @param projectDir the local directory which contains the project
+     * @param config     the settings of the analysis
+     * @return if the project has to be compiled before its classes can be analyzed
+     */
+    public static boolean requiresCompile(File projectDir, AnalysisConfig config) {
+        switch (config.getBuildMode()) {
+            case EXISTING:
+                if (!new File(projectDir, CLASSES_FOLDER).exists()) {
+                    logger.warn(String.format("No compiled classes found in %s", new File(projectDir, CLASSES_FOLDER)));
+                }
+                return false;
+            case INCREMENTAL:
+                if (isUpToDate(projectDir, !config.isExcludeTestScope())) {
+                    logger.info("Compiled classes of the project are up to date, skipping the build");
+                    return false;
+                }
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Record that the project was compiled successfully. A compilation which finds nothing stale does not rewrite the
+     * classes, so the time of the build is kept in a stamp file instead of relying on the times of the class files.
+     *
+     * @param projectDir   the local directory which contains the project
+     * @param buildStart   the time the build started, a source changed during the build is then still seen as stale
+     * @param includeTests if the test classes were compiled as well
+     */
+    public static void recordBuild(File projectDir, long buildStart, boolean includeTests) {
+        Path stampFile = new File(projectDir, BUILD_STAMP_FILE).toPath();
+        try {
+            Files.createDirectories(stampFile.getParent());
+            Files.writeString(stampFile, buildStart + System.lineSeparator() + includeTests + System.lineSeparator());
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to record the build of %s", projectDir));
+        }
+    }
+
+    /**
+     * Check if every java source and the pom are older than the last successful build of the project. The resources
+     * are left out since they are not analyzed.
+     *
+     * @param projectDir   the local directory which contains the project
+     * @param includeTests if the test classes are analyzed as well
+     * @return if the classes in target/classes, and target/test-classes when the tests are included, are up to date
+     */
+    public static boolean isUpToDate(File projectDir, boolean includeTests) {
+        File stampFile = new File(projectDir, BUILD_STAMP_FILE);
+        if (!stampFile.exists() || !new File(projectDir, CLASSES_FOLDER).exists()) {
+            return false;
+        }
+        try {
+            List<String> stamp = Files.readAllLines(stampFile.toPath());
+            long buildStart = Long.parseLong(stamp.get(0).trim());
+            // the test classes have to be compiled as well
+            if (includeTests && !Boolean.parseBoolean(stamp.get(1).trim())) {
+                return false;
+            }
+            File pom = new File(projectDir, POM_FILE);
+            long newestInput = Math.max(
+                    newestSource(new File(projectDir, includeTests ? SOURCE_FOLDER : MAIN_SOURCE_FOLDER)),
+                    pom.exists() ? pom.lastModified() : Long.MIN_VALUE);
+            return newestInput < buildStart;
+        } catch (IOException | RuntimeException e) {
+            logger.warn(String.format("Failed to check if the classes of %s are up to date", projectDir));
+            return false;
+        }
+    }
+
+    private static long newestSource(File folder) throws IOException {
+        if (!folder.exists()) {
+            return Long.MIN_VALUE;
+        }
+        try (Stream<Path> files = Files.walk(folder.toPath())) {
+            return files.filter(file -> file.toString().endsWith(JAVA_SOURCE_EXTENSION) && Files.isRegularFile(file))
+                    .mapToLong(path -> path.toFile().lastModified())
+                    .max()
+                    .orElse(Long.MIN_VALUE);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package org.dep.analyzer;
+
+import com.opencsv.CSVWriter;
+import fr.dutra.tools.maven.deptree.core.Node;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.dep.model.AnalysisConfig;
+import org.dep.model.AnalysisSummary;
+import org.dep.util.CommandExecutor;
+import org.dep.util.HTMLReport;
+import org.dep.util.Helper;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Analyzes every module of a multi-module project. The modules are analyzed concurrently on a bounded pool of workers
+ * and share the classes read from the dependency jars and the standard Java references. Each module gets its own
+ * reports in a sub folder of the report folder, along with an aggregate report of all modules.
+ */
+public class ReactorAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactorAnalyzer.class);
+    public static final String REACTOR_SUMMARY_CSV = "ReactorSummary.csv";
+    private static final String POM_FILE = "pom.xml";
+
+    private final GraphAnalyzer graphAnalyzer;
+
+    public ReactorAnalyzer(GraphAnalyzer graphAnalyzer) {
+        this.graphAnalyzer = graphAnalyzer;
+    }
+
+    public List<AnalysisSummary> analyze(File aggregatorPom, AnalysisConfig config) throws IOException {
+        return analyze(aggregatorPom, config, new AnalysisCache());
+    }
+
+    /**
+     * Analyze all modules of the aggregator pom
+     *
+     * @param aggregatorPom the pom file which lists the modules
+     * @param config        the settings of the analysis, which are used for every module
+     * @param cache         the jar classes and standard Java references shared with the other analyses
+     * @return the summaries of the modules in the order they are listed
+     * @throws IOException exception thrown if the aggregate report could not be written
+     */
+    public List<AnalysisSummary> analyze(File aggregatorPom, AnalysisConfig config, AnalysisCache cache) throws IOException {
+        String reportFolder = config.getReportFolder() != null ? config.getReportFolder() : GraphAnalyzer.REPORT_FOLDER;
+        List<File> modulePoms = findModules(aggregatorPom);
+        logger.info(String.format("Analyzing %d modules with %d workers", modulePoms.size(), config.getWorkers()));
+        Helper.createFolderIfNotExists(reportFolder);
+        // the limit only applies to the builds of this run
+        AnalysisConfig runConfig = new AnalysisConfig(config);
+        runConfig.setCommandPermits(CommandExecutor.newCommandPermits(config.getMavenProcesses()));
+
+        File reactorDir = aggregatorPom.getAbsoluteFile().getParentFile();
+        Map<String, Graph<Node, DefaultEdge>> reactorTrees = config.isReactorTree()
+                ? graphAnalyzer.extractReactorTrees(reactorDir, config.getTreeTimeout(), config.getTreeFormat()) : Collections.emptyMap();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(config.getWorkers(), modulePoms.size())));
+        List<Future<AnalysisSummary>> results = new ArrayList<>();
+        try {
+            for (File modulePom : modulePoms) {
+                AnalysisConfig moduleConfig = new AnalysisConfig(runConfig);
+                moduleConfig.setReportFolder(new File(reportFolder, getModuleFolderName(reactorDir, modulePom)).getPath());
+                // a module without a tree in the reactor output generates its own tree
+                Model model = readModel(modulePom);
+                Graph<Node, DefaultEdge> dependencyTree = model != null ? reactorTrees.get(getProjectName(model)) : null;
+                results.add(workers.submit(() -> analyzeModule(modulePom, moduleConfig, cache, dependencyTree)));
+            }
+            List<AnalysisSummary> summaries = new ArrayList<>();
+            for (Future<AnalysisSummary> result : results) {
+                summaries.add(result.get());
+            }
+            writeAggregateReport(reportFolder, readModel(aggregatorPom), summaries);
+            return summaries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while analyzing the modules", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error occurred while analyzing the modules", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * A module which fails is recorded in the aggregate report without stopping the analysis of the other modules
+     */
+    private AnalysisSummary analyzeModule(File modulePom, AnalysisConfig moduleConfig, AnalysisCache cache, Graph<Node, DefaultEdge> dependencyTree) {
+        try {
+            return graphAnalyzer.analyze(modulePom, moduleConfig, cache, dependencyTree);
+        } catch (Exception e) {
+            logger.warn(String.format("Failed to analyze the module %s", modulePom), e);
+            return failedSummary(modulePom, moduleConfig, e);
+        }
+    }
+
+    static AnalysisSummary failedSummary(File projectPom, AnalysisConfig config, Exception e) {
+        AnalysisSummary summary = new AnalysisSummary();
+        summary.setProjectPom(projectPom);
+        Model model = readModel(projectPom);
+        summary.setProjectName(model != null ? getProjectName(model) : projectPom.getAbsoluteFile().getParentFile().getName());
+        summary.setReportFolder(config.getReportFolder());
+        summary.setError(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        return summary;
+    }
+
+    /**
+     * Find the modules to analyze by following the modules of the aggregator pom and of the nested aggregators. An
+     * aggregator without modules is analyzed as a single project.
+     *
+     * @param aggregatorPom the pom file which lists the modules
+     * @return the pom files of the modules
+     */
+    public static List<File> findModules(File aggregatorPom) {
+        List<File> modulePoms = new ArrayList<>();
+        collectModules(aggregatorPom.getAbsoluteFile(), modulePoms, new HashSet<>());
+        return modulePoms;
+    }
+
+    private static void collectModules(File pom, List<File> modulePoms, Set<File> visitedPoms) {
+        if (!visitedPoms.add(pom)) {
+            return;
+        }
+        Model model = readModel(pom);
+        if (model == null) {
+            return;
+        }
+        if (model.getModules().isEmpty()) {
+            modulePoms.add(pom);
+            return;
+        }
+        for (String module : model.getModules()) {
+            File modulePom = new File(pom.getParentFile(), module);
+            if (modulePom.isDirectory()) {
+                modulePom = new File(modulePom, POM_FILE);
+            }
+            if (modulePom.exists()) {
+                collectModules(modulePom.toPath().normalize().toFile(), modulePoms, visitedPoms);
+            } else {
+                logger.warn(String.format("Could not locate the module %s of %s", module, pom));
+            }
+        }
+    }
+
+    /**
+     * The report folder of a module is named after its path within the reactor, which is unique unlike the artifact id
+     */
+    private static String getModuleFolderName(File reactorDir, File modulePom) {
+        String modulePath = reactorDir.toPath().relativize(modulePom.getParentFile().toPath()).toString();
+        return modulePath.isEmpty() ? reactorDir.getName() : modulePath.replace(File.separatorChar, '_');
+    }
+
+    private void writeAggregateReport(String reportFolder, Model aggregator, List<AnalysisSummary> summaries) throws IOException {
+        String projectName = aggregator != null ? getProjectName(aggregator) : new File(reportFolder).getName();
+        HTMLReport.generateReactorSummaryHTML(reportFolder, projectName, summaries, findDivergentVersions(summaries));
+        writeSummaryCSV(new File(reportFolder, REACTOR_SUMMARY_CSV), "Module", summaries);
+    }
+
+    /**
+     * @return the dependencies which the projects resolved to different versions, with the projects using each version
+     */
+    static Map<String, Map<String, List<String>>> findDivergentVersions(List<AnalysisSummary> summaries) {
+        Map<String, Map<String, List<String>>> divergentVersions = new TreeMap<>();
+        for (AnalysisSummary summary : summaries) {
+            summary.getResolvedVersions().forEach((dependency, version) -> divergentVersions
+                    .computeIfAbsent(dependency, key -> new TreeMap<>())
+                    .computeIfAbsent(version, key -> new ArrayList<>())
+                    .add(summary.getProjectName()));
+        }
+        divergentVersions.values().removeIf(versions -> versions.size() < 2);
+        return divergentVersions;
+    }
+
+    static void writeSummaryCSV(File csvFile, String entryLabel, List<AnalysisSummary> summaries) throws IOException {
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(csvFile.toPath()))) {
+            String[] header = {entryLabel, "Dependencies", "Omitted", "Conflicts", "Bloated Direct Dependencies", "Unmapped References", "Error"};
+            writer.writeNext(header);
+            for (AnalysisSummary summary : summaries) {
+                writer.writeNext(new String[]{summary.getProjectName(), String.valueOf(summary.getDependencies()),
+                        String.valueOf(summary.getOmittedDependencies()), String.valueOf(summary.getConflicts()),
+                        String.valueOf(summary.getBloatedDirectDependencies()), String.valueOf(summary.getUnmappedReferences()),
+                        summary.getError() == null ? "" : summary.getError()});
+            }
+        }
+    }
+
+    private static String getProjectName(Model model) {
+        String groupId = model.getGroupId() == null && model.getParent() != null ? model.getParent().getGroupId() : model.getGroupId();
+        return groupId + ":" + model.getArtifactId();
+    }
+
+    private static Model readModel(File pom) {
+        try (Reader reader = new FileReader(pom)) {
+            return new MavenXpp3Reader().read(reader);
+        } catch (Exception e) {
+            logger.warn(String.format("Failed to read the pom: %s", pom));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.InputType;
+import org.dep.util.CommandExecutor;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Settings which control how a project is analyzed
+ */
+public class AnalysisConfig {
+
+    // exclude the test scope dependencies from the graph
+    private boolean excludeTestScope;
+    // display the used transitive functionalities in the graph
+    private boolean showTransitiveFunc;
+    // run the dependency tree, dependency copy and compile goals in one Maven execution
+    private boolean singleMavenInvocation;
+    // resolve the dependency tree from the local repository instead of executing Maven
+    private boolean resolveTreeInProcess;
+    // the folder in which parsed dependency trees are cached, no cache is used if not set
+    private File treeCacheFolder;
+    // the folder in which the indexes of the dependency jars are cached, no cache is used if not set
+    private File jarCacheFolder;
+    // the output type of the dependency tree generated by Maven
+    private InputType treeFormat = InputType.TEXT;
+    // read the dependency jars from the local repository instead of copying them in to the project
+    private boolean indexJarsInPlace;
+    // how the classes of the project are made available for the analysis
+    private BuildMode buildMode = BuildMode.CLEAN;
+    // the time each phase of the Maven build is allowed to run
+    private Duration treeTimeout = CommandExecutor.DEFAULT_TIMEOUT;
+    private Duration dependencyTimeout = CommandExecutor.DEFAULT_TIMEOUT;
+    private Duration compileTimeout = CommandExecutor.DEFAULT_TIMEOUT;
+    // the folder in which the reports are generated, the GraphAnalyzer.REPORT_FOLDER is used if not set
+    private String reportFolder;
+    // analyze every module of the aggregator pom
+    private boolean reactor;
+    // generate the dependency trees of all modules with one Maven execution at the reactor root
+    private boolean reactorTree;
+    // analyze every project listed in the input file
+    private boolean batch;
+    // the number of modules or projects analyzed concurrently
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // the number of Maven builds running at the same time, no limit if zero
+    private int mavenProcesses;
+    // the number of dependency jars of a project read concurrently while its classes are indexed, the jars of all
+    // projects are read on one pool with a worker per processor
+    private int indexWorkers = Runtime.getRuntime().availableProcessors();
+    // limits the Maven builds of the analyses of one reactor or batch run, which share it through their copied
+    // settings, null if unlimited
+    private Semaphore commandPermits;
+
+    public AnalysisConfig() {
+    }
+
+    /**
+     * Copy the settings, so that they can be changed for a single project analyzed with the same settings
+     */
+    public AnalysisConfig(AnalysisConfig config) {
+        this.excludeTestScope = config.excludeTestScope;
+        this.showTransitiveFunc = config.showTransitiveFunc;
+        this.singleMavenInvocation = config.singleMavenInvocation;
+        this.resolveTreeInProcess = config.resolveTreeInProcess;
+        this.treeCacheFolder = config.treeCacheFolder;
+        this.jarCacheFolder = config.jarCacheFolder;
+        this.treeFormat = config.treeFormat;
+        this.indexJarsInPlace = config.indexJarsInPlace;
+        this.buildMode = config.buildMode;
+        this.treeTimeout = config.treeTimeout;
+        this.dependencyTimeout = config.dependencyTimeout;
+        this.compileTimeout = config.compileTimeout;
+        this.reportFolder = config.reportFolder;
+        this.reactor = config.reactor;
+        this.reactorTree = config.reactorTree;
+        this.batch = config.batch;
+        this.workers = config.workers;
+        this.mavenProcesses = config.mavenProcesses;
+        this.indexWorkers = config.indexWorkers;
+        this.commandPermits = config.commandPermits;
+    }
+
+    public boolean isExcludeTestScope() {
+        return excludeTestScope;
+    }
+
+    public void setExcludeTestScope(boolean excludeTestScope) {
+        this.excludeTestScope = excludeTestScope;
+    }
+
+    public boolean isShowTransitiveFunc() {
+        return showTransitiveFunc;
+    }
+
+    public void setShowTransitiveFunc(boolean showTransitiveFunc) {
+        this.showTransitiveFunc = showTransitiveFunc;
+    }
+
+    public boolean isSingleMavenInvocation() {
+        return singleMavenInvocation;
+    }
+
+    public void setSingleMavenInvocation(boolean singleMavenInvocation) {
+        this.singleMavenInvocation = singleMavenInvocation;
+    }
+
+    public boolean isResolveTreeInProcess() {
+        return resolveTreeInProcess;
+    }
+
+    public void setResolveTreeInProcess(boolean resolveTreeInProcess) {
+        this.resolveTreeInProcess = resolveTreeInProcess;
+    }
+
+    public File getTreeCacheFolder() {
+        return treeCacheFolder;
+    }
+
+    public void setTreeCacheFolder(File treeCacheFolder) {
+        this.treeCacheFolder = treeCacheFolder;
+    }
+
+    public File getJarCacheFolder() {
+        return jarCacheFolder;
+    }
+
+    public void setJarCacheFolder(File jarCacheFolder) {
+        this.jarCacheFolder = jarCacheFolder;
+    }
+
+    public boolean isIndexJarsInPlace() {
+        return indexJarsInPlace;
+    }
+
+    public void setIndexJarsInPlace(boolean indexJarsInPlace) {
+        this.indexJarsInPlace = indexJarsInPlace;
+    }
+
+    public BuildMode getBuildMode() {
+        return buildMode;
+    }
+
+    public void setBuildMode(BuildMode buildMode) {
+        this.buildMode = buildMode;
+    }
+
+    public Duration getTreeTimeout() {
+        return treeTimeout;
+    }
+
+    public void setTreeTimeout(Duration treeTimeout) {
+        this.treeTimeout = treeTimeout;
+    }
+
+    public Duration getDependencyTimeout() {
+        return dependencyTimeout;
+    }
+
+    public void setDependencyTimeout(Duration dependencyTimeout) {
+        this.dependencyTimeout = dependencyTimeout;
+    }
+
+    public Duration getCompileTimeout() {
+        return compileTimeout;
+    }
+
+    public void setCompileTimeout(Duration compileTimeout) {
+        this.compileTimeout = compileTimeout;
+    }
+
+    public String getReportFolder() {
+        return reportFolder;
+    }
+
+    public void setReportFolder(String reportFolder) {
+        this.reportFolder = reportFolder;
+    }
+
+    public boolean isReactor() {
+        return reactor;
+    }
+
+    public void setReactor(boolean reactor) {
+        this.reactor = reactor;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public boolean isReactorTree() {
+        return reactorTree;
+    }
+
+    public void setReactorTree(boolean reactorTree) {
+        this.reactorTree = reactorTree;
+    }
+
+    public boolean isBatch() {
+        return batch;
+    }
+
+    public void setBatch(boolean batch) {
+        this.batch = batch;
+    }
+
+    public int getMavenProcesses() {
+        return mavenProcesses;
+    }
+
+    public void setMavenProcesses(int mavenProcesses) {
+        this.mavenProcesses = mavenProcesses;
+    }
+
+    public int getIndexWorkers() {
+        return indexWorkers;
+    }
+
+    public void setIndexWorkers(int indexWorkers) {
+        this.indexWorkers = indexWorkers;
+    }
+
+    public Semaphore getCommandPermits() {
+        return commandPermits;
+    }
+
+    public void setCommandPermits(Semaphore commandPermits) {
+        this.commandPermits = commandPermits;
+    }
+
+    public InputType getTreeFormat() {
+        return treeFormat;
+    }
+
+    public void setTreeFormat(InputType treeFormat) {
+        this.treeFormat = treeFormat;
+    }
+}
@@ -0,0 +1,111 @@
+package org.dep.model;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The outcome of the analysis of a project, which is used to build the aggregate report of several projects
+ */
+public class AnalysisSummary {
+
+    // the pom file of the analyzed project
+    private File projectPom;
+    // groupId:artifactId of the project
+    private String projectName;
+    // the folder in which the reports of the project were generated
+    private String reportFolder;
+    private int dependencies;
+    private int omittedDependencies;
+    private int conflicts;
+    private int bloatedDirectDependencies;
+    private int unmappedReferences;
+    // the version each resolved dependency, groupId:artifactId, was resolved to
+    private Map<String, String> resolvedVersions = new HashMap<>();
+    // the reason the analysis failed, null if the analysis succeeded
+    private String error;
+
+    public File getProjectPom() {
+        return projectPom;
+    }
+
+    public void setProjectPom(File projectPom) {
+        this.projectPom = projectPom;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public String getReportFolder() {
+        return reportFolder;
+    }
+
+    public void setReportFolder(String reportFolder) {
+        this.reportFolder = reportFolder;
+    }
+
+    public int getDependencies() {
+        return dependencies;
+    }
+
+    public void setDependencies(int dependencies) {
+        this.dependencies = dependencies;
+    }
+
+    public int getOmittedDependencies() {
+        return omittedDependencies;
+    }
+
+    public void setOmittedDependencies(int omittedDependencies) {
+        this.omittedDependencies = omittedDependencies;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(int conflicts) {
+        this.conflicts = conflicts;
+    }
+
+    public int getBloatedDirectDependencies() {
+        return bloatedDirectDependencies;
+    }
+
+    public void setBloatedDirectDependencies(int bloatedDirectDependencies) {
+        this.bloatedDirectDependencies = bloatedDirectDependencies;
+    }
+
+    public int getUnmappedReferences() {
+        return unmappedReferences;
+    }
+
+    public void setUnmappedReferences(int unmappedReferences) {
+        this.unmappedReferences = unmappedReferences;
+    }
+
+    public Map<String, String> getResolvedVersions() {
+        return resolvedVersions;
+    }
+
+    public void setResolvedVersions(Map<String, String> resolvedVersions) {
+        this.resolvedVersions = resolvedVersions;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public boolean isFailed() {
+        return error != null;
+    }
+}
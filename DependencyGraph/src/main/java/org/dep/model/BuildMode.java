@@ -0,0 +1,13 @@
+package org.dep.model;
+
+/**
+ * Determines how the classes of the project are made available for the bytecode analysis
+ */
+public enum BuildMode {
+    // always rebuild the project from scratch with clean compile test-compile
+    CLEAN,
+    // skip the build when the sources and pom did not change since the last successful build, otherwise compile without clean
+    INCREMENTAL,
+    // use the classes which already exist in the target folder and never build the project
+    EXISTING
+}
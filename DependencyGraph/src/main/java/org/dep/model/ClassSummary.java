@@ -0,0 +1,45 @@
+package org.dep.model;
+
+/**
+ * The supertypes and declared members of a dependency class, which is what the references of a project are mapped
+ * with. The summary is read from the class file once and is then kept with the index of its jar.
+ */
+public class ClassSummary {
+
+    // the names use '.' as the separator, the superclass is null for java.lang.Object
+    private final String superclass;
+    private final String[] interfaces;
+    // the methods as their name followed by their descriptor
+    private final String[] methods;
+    // the constructors as <init> followed by their descriptor
+    private final String[] constructors;
+    private final String[] fields;
+
+    public ClassSummary(String superclass, String[] interfaces, String[] methods, String[] constructors, String[] fields) {
+        this.superclass = superclass;
+        this.interfaces = interfaces;
+        this.methods = methods;
+        this.constructors = constructors;
+        this.fields = fields;
+    }
+
+    public String getSuperclass() {
+        return superclass;
+    }
+
+    public String[] getInterfaces() {
+        return interfaces;
+    }
+
+    public String[] getMethods() {
+        return methods;
+    }
+
+    public String[] getConstructors() {
+        return constructors;
+    }
+
+    public String[] getFields() {
+        return fields;
+    }
+}
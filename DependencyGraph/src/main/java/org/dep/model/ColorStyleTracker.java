@@ -2,7 +2,7 @@ package org.dep.model;
 
 import fr.dutra.tools.maven.deptree.core.Node;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -10,7 +10,8 @@ public class ColorStyleTracker {
 
     private List<String> generatedColors;
     private int indexAssigned;
-    private Map<Node, NodeStyle> nodeStyles = new HashMap<>();
+    // the styles in the order the nodes were drawn, so the graph is generated the same way every time
+    private Map<Node, NodeStyle> nodeStyles = new LinkedHashMap<>();
 
     public ColorStyleTracker(List<String> generatedColors, int indexAssigned) {
         this.generatedColors = generatedColors;
@@ -0,0 +1,182 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.Node;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * An immutable copy of the structure of a dependency tree in primitive arrays, for the passes which visit every node.
+ * The nodes are numbered in the order of the vertices of the graph, the parsed order of the tree, and the children of
+ * every node are stored in one array in the compressed sparse row layout. The traversals only read the arrays, so no
+ * iterators, edge sets or visited sets are created per pass.
+ * <p>
+ * The dependency trees have one parent per node, the structure is not updated once the tree is parsed while the nodes
+ * themselves still collect the references and flags of the analysis.
+ */
+public final class CompactTree {
+
+    public static final int NO_PARENT = -1;
+
+    private final Node[] nodes;
+    private final int[] parents;
+    private final int[] depths;
+    // the children of node i are children[childOffsets[i]] until children[childOffsets[i + 1]]
+    private final int[] childOffsets;
+    private final int[] children;
+    private final int[] breadthFirstOrder;
+    // the attributes of the nodes as columns
+    private final boolean[] omitted;
+    private final boolean[] conflict;
+    private final boolean[] testScope;
+    // the groupId:artifactId of every node as a dense index in to artifactKeys
+    private final int[] artifactIndexes;
+    private final String[] artifactKeys;
+
+    public CompactTree(Graph<Node, DefaultEdge> dependencyTree) {
+        int size = dependencyTree.vertexSet().size();
+        nodes = new Node[size];
+        parents = new int[size];
+        depths = new int[size];
+        childOffsets = new int[size + 1];
+        children = new int[Math.max(0, size - 1)];
+        breadthFirstOrder = new int[size];
+        omitted = new boolean[size];
+        conflict = new boolean[size];
+        testScope = new boolean[size];
+        artifactIndexes = new int[size];
+
+        Map<Node, Integer> ids = new IdentityHashMap<>(size);
+        Map<String, Integer> artifactIds = new HashMap<>();
+        int root = NO_PARENT;
+        for (Node node : dependencyTree.vertexSet()) {
+            int id = ids.size();
+            ids.put(node, id);
+            nodes[id] = node;
+            omitted[id] = node.isOmitted();
+            conflict[id] = node.isConflict();
+            testScope[id] = "test".equals(node.getScope());
+            artifactIndexes[id] = artifactIds.computeIfAbsent(node.getArtifactKey(), key -> artifactIds.size());
+            if (root == NO_PARENT && dependencyTree.inDegreeOf(node) == 0) {
+                root = id;
+            }
+        }
+        artifactKeys = new String[artifactIds.size()];
+        artifactIds.forEach((artifactKey, index) -> artifactKeys[index] = artifactKey);
+
+        // the children in the order of the outgoing edges, which is the order of the tree
+        int childCount = 0;
+        for (int id = 0; id < size; id++) {
+            childOffsets[id] = childCount;
+            parents[id] = NO_PARENT;
+            for (DefaultEdge edge : dependencyTree.outgoingEdgesOf(nodes[id])) {
+                children[childCount++] = ids.get(dependencyTree.getEdgeTarget(edge));
+            }
+        }
+        childOffsets[size] = childCount;
+        for (int id = 0; id < size; id++) {
+            for (int child = childOffsets[id]; child < childOffsets[id + 1]; child++) {
+                parents[children[child]] = id;
+            }
+        }
+
+        // the breadth first order doubles as the queue of the traversal
+        if (root != NO_PARENT) {
+            int tail = 0;
+            breadthFirstOrder[tail++] = root;
+            for (int head = 0; head < tail; head++) {
+                int id = breadthFirstOrder[head];
+                for (int child = childOffsets[id]; child < childOffsets[id + 1]; child++) {
+                    depths[children[child]] = depths[id] + 1;
+                    breadthFirstOrder[tail++] = children[child];
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return nodes.length;
+    }
+
+    /**
+     * @return the id of the root, the first node of the breadth first order
+     */
+    public int getRoot() {
+        return breadthFirstOrder[0];
+    }
+
+    public Node getNode(int id) {
+        return nodes[id];
+    }
+
+    /**
+     * @return the id of the parent, {@link #NO_PARENT} for the root
+     */
+    public int getParent(int id) {
+        return parents[id];
+    }
+
+    public int getDepth(int id) {
+        return depths[id];
+    }
+
+    /**
+     * @return the position in {@link #getChild(int)} of the first child of the node
+     */
+    public int getFirstChild(int id) {
+        return childOffsets[id];
+    }
+
+    /**
+     * @return the position in {@link #getChild(int)} after the last child of the node
+     */
+    public int getChildEnd(int id) {
+        return childOffsets[id + 1];
+    }
+
+    /**
+     * @param position a position between {@link #getFirstChild(int)} and {@link #getChildEnd(int)} of a node
+     * @return the id of the child at the position
+     */
+    public int getChild(int position) {
+        return children[position];
+    }
+
+    /**
+     * @param index the position in the breadth first order, from 0 for the root to size - 1
+     * @return the id of the node at the position
+     */
+    public int getBreadthFirst(int index) {
+        return breadthFirstOrder[index];
+    }
+
+    public boolean isOmitted(int id) {
+        return omitted[id];
+    }
+
+    public boolean isConflict(int id) {
+        return conflict[id];
+    }
+
+    public boolean isTestScope(int id) {
+        return testScope[id];
+    }
+
+    /**
+     * @return the dense index of the groupId:artifactId of the node, the same for every version of the artifact
+     */
+    public int getArtifactIndex(int id) {
+        return artifactIndexes[id];
+    }
+
+    public int getArtifactCount() {
+        return artifactKeys.length;
+    }
+
+    public String getArtifactKey(int artifactIndex) {
+        return artifactKeys[artifactIndex];
+    }
+}
@@ -0,0 +1,95 @@
+package org.dep.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The groupId, artifactId and version of a dependency. The coordinates are obtained from a {@link CoordinatePool}, so
+ * every node of the same dependency shares one instance and the strings of the coordinate are canonical. Two nodes of
+ * the same artifact can then be matched by comparing the references of their artifact keys.
+ */
+public final class Coordinate implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    // groupId:artifactId
+    private final String artifactKey;
+    // groupId:artifactId:version
+    private final String dependencyName;
+
+    Coordinate(String groupId, String artifactId, String version, String artifactKey) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.artifactKey = artifactKey;
+        this.dependencyName = artifactKey + ":" + version;
+    }
+
+    /**
+     * Key to look up the canonical coordinate in the pool, which is only compared with the canonical coordinates
+     */
+    Coordinate(String groupId, String artifactId, String version) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.artifactKey = null;
+        this.dependencyName = null;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the canonical groupId:artifactId, which is the same instance for every version of the artifact
+     */
+    public String getArtifactKey() {
+        return artifactKey;
+    }
+
+    /**
+     * @return groupId:artifactId:version
+     */
+    public String getDependencyName() {
+        return dependencyName;
+    }
+
+    /**
+     * A deserialized coordinate is replaced by the canonical one of the shared pool
+     */
+    @Serial
+    private Object readResolve() {
+        return CoordinatePool.getShared().intern(groupId, artifactId, version);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Coordinate that = (Coordinate) o;
+        return Objects.equals(groupId, that.groupId) && Objects.equals(artifactId, that.artifactId) && Objects.equals(version, that.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(groupId, artifactId, version);
+    }
+
+    @Override
+    public String toString() {
+        return dependencyName;
+    }
+}
@@ -0,0 +1,74 @@
+package org.dep.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Deduplicates the coordinates and the strings of the parsed dependencies. The same dependencies appear many times in
+ * a verbose tree and across the modules of a project, so the nodes keep references to one canonical copy instead of
+ * new strings for every line.
+ * <p>
+ * The canonical instances are only weakly referenced by the pool: they stay shared while a parsed dependency uses them
+ * and are dropped afterwards, so a long running daemon does not keep the coordinates of every project it analyzed.
+ */
+public class CoordinatePool {
+
+    private static final CoordinatePool SHARED = new CoordinatePool();
+
+    // the values refer to the keys themselves, which are the canonical instances
+    private final Map<String, WeakReference<String>> strings = new WeakHashMap<>();
+    private final Map<Coordinate, WeakReference<Coordinate>> coordinates = new WeakHashMap<>();
+
+    /**
+     * @return the pool shared by all parsers, so the coordinates of projects analyzed at the same time are shared as well
+     */
+    public static CoordinatePool getShared() {
+        return SHARED;
+    }
+
+    /**
+     * @param value the string to deduplicate, may be null
+     * @return the canonical instance of the string
+     */
+    public synchronized String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = get(strings, value);
+        if (canonical == null) {
+            strings.put(value, new WeakReference<>(value));
+            canonical = value;
+        }
+        return canonical;
+    }
+
+    /**
+     * @return the canonical coordinate of the dependency
+     */
+    public Coordinate intern(String groupId, String artifactId, String version) {
+        if (groupId == null || artifactId == null || version == null) {
+            // an incomplete coordinate is not shared
+            return new Coordinate(groupId, artifactId, version, groupId + ":" + artifactId);
+        }
+        // the lookup key only holds the given strings, the artifact key is only built for a new coordinate
+        Coordinate key = new Coordinate(groupId, artifactId, version);
+        synchronized (this) {
+            Coordinate coordinate = get(coordinates, key);
+            if (coordinate == null) {
+                String canonicalGroupId = intern(groupId);
+                String canonicalArtifactId = intern(artifactId);
+                // every version of the artifact shares the artifact key
+                String artifactKey = intern(canonicalGroupId + ":" + canonicalArtifactId);
+                coordinate = new Coordinate(canonicalGroupId, canonicalArtifactId, intern(version), artifactKey);
+                coordinates.put(coordinate, new WeakReference<>(coordinate));
+            }
+            return coordinate;
+        }
+    }
+
+    private static <T> T get(Map<T, WeakReference<T>> canonicals, T value) {
+        WeakReference<T> reference = canonicals.get(value);
+        return reference != null ? reference.get() : null;
+    }
+}
@@ -0,0 +1,279 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The dominators of the resolved dependencies of a project, computed with the Lengauer-Tarjan algorithm. In the
+ * dependency tree every node has one parent, so the analysis runs on the graph of the artifacts instead, in which all
+ * occurrences of a groupId:artifactId are one vertex with an edge for every edge of the tree, including the omitted
+ * ones. An artifact dominates another when every path from the project to the other passes through it, so removing a
+ * direct dependency removes exactly the artifacts it dominates: the others are still brought in by another path, from
+ * which Maven then resolves them.
+ * <p>
+ * The jar size, class count and used references of every artifact are summed over the artifacts it dominates, which
+ * is the weight of what leaves the classpath when the artifact is removed.
+ */
+public final class DominatorTree {
+
+    public static final int NO_DOMINATOR = -1;
+
+    private final CompactTree dependencyTree;
+    private final int root;
+    // the immediate dominator of every artifact, NO_DOMINATOR for the project and the unreachable artifacts
+    private final int[] immediateDominators;
+    private final int[] exclusiveArtifacts;
+    private final long[] exclusiveJarSizes;
+    private final int[] exclusiveClassCounts;
+    private final int[] exclusiveUsedReferences;
+    private final boolean[] excluded;
+
+    /**
+     * @param dependencyTree   the compact copy of the dependency tree, after the jars were indexed
+     * @param excludeTestScope if the test scope dependencies and their subtrees are left out
+     */
+    public DominatorTree(CompactTree dependencyTree, boolean excludeTestScope) {
+        this.dependencyTree = dependencyTree;
+        int size = dependencyTree.size();
+        int artifactCount = dependencyTree.getArtifactCount();
+        root = dependencyTree.getArtifactIndex(dependencyTree.getRoot());
+
+        // a node is left out with its test scope ancestor, the parents come first in the breadth first order
+        excluded = new boolean[size];
+        for (int index = 1; index < size; index++) {
+            int id = dependencyTree.getBreadthFirst(index);
+            excluded[id] = excluded[dependencyTree.getParent(id)] || (excludeTestScope && dependencyTree.isTestScope(id));
+        }
+
+        // the successors and predecessors of every artifact in the compressed sparse row layout
+        int[] successorOffsets = new int[artifactCount + 1];
+        int[] predecessorOffsets = new int[artifactCount + 1];
+        for (int id = 0; id < size; id++) {
+            if (id != dependencyTree.getRoot() && !excluded[id]) {
+                successorOffsets[dependencyTree.getArtifactIndex(dependencyTree.getParent(id)) + 1]++;
+                predecessorOffsets[dependencyTree.getArtifactIndex(id) + 1]++;
+            }
+        }
+        for (int artifact = 0; artifact < artifactCount; artifact++) {
+            successorOffsets[artifact + 1] += successorOffsets[artifact];
+            predecessorOffsets[artifact + 1] += predecessorOffsets[artifact];
+        }
+        int[] successors = new int[successorOffsets[artifactCount]];
+        int[] predecessors = new int[predecessorOffsets[artifactCount]];
+        int[] successorEnds = Arrays.copyOf(successorOffsets, artifactCount);
+        int[] predecessorEnds = Arrays.copyOf(predecessorOffsets, artifactCount);
+        for (int id = 0; id < size; id++) {
+            if (id != dependencyTree.getRoot() && !excluded[id]) {
+                int source = dependencyTree.getArtifactIndex(dependencyTree.getParent(id));
+                int target = dependencyTree.getArtifactIndex(id);
+                successors[successorEnds[source]++] = target;
+                predecessors[predecessorEnds[target]++] = source;
+            }
+        }
+
+        // the depth first numbering from the project, the vertex i of the search is the artifact order[i]
+        int[] numbers = new int[artifactCount];
+        Arrays.fill(numbers, NO_DOMINATOR);
+        int[] order = new int[artifactCount];
+        int[] parents = new int[artifactCount];
+        int count = 0;
+        // the path of the search as the artifacts and the position of their next successor
+        int[] stack = new int[artifactCount];
+        int[] nextSuccessor = new int[artifactCount];
+        int top = 0;
+        numbers[root] = count;
+        order[count++] = root;
+        stack[top] = root;
+        nextSuccessor[top++] = successorOffsets[root];
+        while (top > 0) {
+            int artifact = stack[top - 1];
+            if (nextSuccessor[top - 1] == successorOffsets[artifact + 1]) {
+                top--;
+                continue;
+            }
+            int successor = successors[nextSuccessor[top - 1]++];
+            if (numbers[successor] == NO_DOMINATOR) {
+                numbers[successor] = count;
+                parents[count] = numbers[artifact];
+                order[count++] = successor;
+                stack[top] = successor;
+                nextSuccessor[top++] = successorOffsets[successor];
+            }
+        }
+
+        int[] idom = computeImmediateDominators(count, parents, numbers, order, predecessorOffsets, predecessors);
+        immediateDominators = new int[artifactCount];
+        Arrays.fill(immediateDominators, NO_DOMINATOR);
+        for (int vertex = 1; vertex < count; vertex++) {
+            immediateDominators[order[vertex]] = order[idom[vertex]];
+        }
+
+        // the weight of every artifact from its selected occurrences, the omitted ones have no jar of their own
+        long[] jarSizes = new long[artifactCount];
+        int[] classCounts = new int[artifactCount];
+        int[] usedReferences = new int[artifactCount];
+        for (int id = 0; id < size; id++) {
+            if (excluded[id] || dependencyTree.isOmitted(id)) {
+                continue;
+            }
+            Node node = dependencyTree.getNode(id);
+            int artifact = dependencyTree.getArtifactIndex(id);
+            jarSizes[artifact] += node.getJarSize();
+            classCounts[artifact] += node.getClassCount();
+            for (Set<Reference> references : node.getReferences().values()) {
+                usedReferences[artifact] += references.size();
+            }
+        }
+        exclusiveArtifacts = new int[artifactCount];
+        exclusiveJarSizes = jarSizes;
+        exclusiveClassCounts = classCounts;
+        exclusiveUsedReferences = usedReferences;
+        // a dominator is visited before the artifacts it dominates, so walking the search order backwards adds every
+        // artifact to its dominator once all the artifacts it dominates were added to it
+        for (int vertex = count - 1; vertex > 0; vertex--) {
+            int artifact = order[vertex];
+            int dominator = immediateDominators[artifact];
+            exclusiveArtifacts[dominator] += exclusiveArtifacts[artifact] + 1;
+            exclusiveJarSizes[dominator] += exclusiveJarSizes[artifact];
+            exclusiveClassCounts[dominator] += exclusiveClassCounts[artifact];
+            exclusiveUsedReferences[dominator] += exclusiveUsedReferences[artifact];
+        }
+    }
+
+    /**
+     * The Lengauer-Tarjan algorithm with path compression on the vertices numbered by the depth first search
+     *
+     * @return the immediate dominator of every vertex, the vertex 0 is the project
+     */
+    private static int[] computeImmediateDominators(int count, int[] parents, int[] numbers, int[] order, int[] predecessorOffsets, int[] predecessors) {
+        int[] semi = new int[count];
+        int[] idom = new int[count];
+        int[] ancestor = new int[count];
+        int[] label = new int[count];
+        // the vertices of which the vertex is the semi dominator, as linked lists
+        int[] bucketHeads = new int[count];
+        int[] bucketNext = new int[count];
+        int[] path = new int[count];
+        for (int vertex = 0; vertex < count; vertex++) {
+            semi[vertex] = vertex;
+            label[vertex] = vertex;
+            ancestor[vertex] = NO_DOMINATOR;
+            bucketHeads[vertex] = NO_DOMINATOR;
+        }
+        for (int vertex = count - 1; vertex > 0; vertex--) {
+            int artifact = order[vertex];
+            for (int position = predecessorOffsets[artifact]; position < predecessorOffsets[artifact + 1]; position++) {
+                int predecessor = numbers[predecessors[position]];
+                if (predecessor == NO_DOMINATOR) {
+                    // only reached from excluded or unreachable artifacts
+                    continue;
+                }
+                int evaluated = eval(predecessor, ancestor, label, semi, path);
+                if (semi[evaluated] < semi[vertex]) {
+                    semi[vertex] = semi[evaluated];
+                }
+            }
+            bucketNext[vertex] = bucketHeads[semi[vertex]];
+            bucketHeads[semi[vertex]] = vertex;
+            int parent = parents[vertex];
+            ancestor[vertex] = parent;
+            for (int dominated = bucketHeads[parent]; dominated != NO_DOMINATOR; dominated = bucketNext[dominated]) {
+                int evaluated = eval(dominated, ancestor, label, semi, path);
+                idom[dominated] = semi[evaluated] < semi[dominated] ? evaluated : parent;
+            }
+            bucketHeads[parent] = NO_DOMINATOR;
+        }
+        for (int vertex = 1; vertex < count; vertex++) {
+            if (idom[vertex] != semi[vertex]) {
+                idom[vertex] = idom[idom[vertex]];
+            }
+        }
+        return idom;
+    }
+
+    /**
+     * @return the vertex with the smallest semi dominator on the path of the forest from the vertex to its root,
+     * compressing the path on the way without recursion
+     */
+    private static int eval(int vertex, int[] ancestor, int[] label, int[] semi, int[] path) {
+        if (ancestor[vertex] == NO_DOMINATOR) {
+            return vertex;
+        }
+        int length = 0;
+        for (int current = vertex; ancestor[ancestor[current]] != NO_DOMINATOR; current = ancestor[current]) {
+            path[length++] = current;
+        }
+        // the vertices closest to the root are compressed first
+        while (length > 0) {
+            int current = path[--length];
+            int currentAncestor = ancestor[current];
+            if (semi[label[currentAncestor]] < semi[label[current]]) {
+                label[current] = label[currentAncestor];
+            }
+            ancestor[current] = ancestor[currentAncestor];
+        }
+        return label[vertex];
+    }
+
+    /**
+     * @return the artifact index of the immediate dominator, {@link #NO_DOMINATOR} for the project and the artifacts
+     * which are not reached
+     */
+    public int getImmediateDominator(int artifactIndex) {
+        return immediateDominators[artifactIndex];
+    }
+
+    /**
+     * @return the number of artifacts only reached through the artifact
+     */
+    public int getExclusiveArtifacts(int artifactIndex) {
+        return exclusiveArtifacts[artifactIndex];
+    }
+
+    public long getExclusiveJarSize(int artifactIndex) {
+        return exclusiveJarSizes[artifactIndex];
+    }
+
+    public int getExclusiveClassCount(int artifactIndex) {
+        return exclusiveClassCounts[artifactIndex];
+    }
+
+    public int getExclusiveUsedReferences(int artifactIndex) {
+        return exclusiveUsedReferences[artifactIndex];
+    }
+
+    /**
+     * Rank the direct dependencies by what their removal saves: the ones of which nothing is used come first, then the
+     * ones of which the fewest references are used, and among those the largest jars and the most classes
+     *
+     * @return the removal impact of every direct dependency which is not left out
+     */
+    public List<RemovalImpact> getRemovalCandidates() {
+        List<RemovalImpact> candidates = new ArrayList<>();
+        int rootNode = dependencyTree.getRoot();
+        for (int child = dependencyTree.getFirstChild(rootNode); child < dependencyTree.getChildEnd(rootNode); child++) {
+            int directDep = dependencyTree.getChild(child);
+            int artifact = dependencyTree.getArtifactIndex(directDep);
+            if (excluded[directDep] || dependencyTree.isOmitted(directDep) || immediateDominators[artifact] != root) {
+                continue;
+            }
+            RemovalImpact impact = new RemovalImpact();
+            impact.setDependency(dependencyTree.getNode(directDep));
+            impact.setExclusiveDependencies(exclusiveArtifacts[artifact]);
+            impact.setJarSize(exclusiveJarSizes[artifact]);
+            impact.setClassCount(exclusiveClassCounts[artifact]);
+            impact.setUsedReferences(exclusiveUsedReferences[artifact]);
+            candidates.add(impact);
+        }
+        candidates.sort(Comparator.comparingInt(RemovalImpact::getUsedReferences)
+                .thenComparing(Comparator.comparingLong(RemovalImpact::getJarSize).reversed())
+                .thenComparing(Comparator.comparingInt(RemovalImpact::getClassCount).reversed())
+                .thenComparing(impact -> impact.getDependency().getArtifactKey()));
+        return candidates;
+    }
+}
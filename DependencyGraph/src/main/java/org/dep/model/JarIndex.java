@@ -0,0 +1,48 @@
+package org.dep.model;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The classes of a dependency jar, along with the summary of every class when the jar was read for the persistent
+ * cache. A jar which was only listed has no summaries and its classes are read from the jar when they are referenced.
+ */
+public class JarIndex {
+
+    // the classes in the internal form using '/' as the separator
+    private final Set<String> classNames;
+    private final Map<String, ClassSummary> summaries;
+
+    /**
+     * @param classNames the classes of the jar
+     * @param summaries  the summary of the classes by their name, null if the classes were only listed
+     */
+    public JarIndex(Set<String> classNames, Map<String, ClassSummary> summaries) {
+        this.classNames = Collections.unmodifiableSet(classNames);
+        this.summaries = summaries != null ? Collections.unmodifiableMap(summaries) : null;
+    }
+
+    public Set<String> getClassNames() {
+        return classNames;
+    }
+
+    public boolean hasSummaries() {
+        return summaries != null;
+    }
+
+    /**
+     * @param className the class in the internal form
+     * @return the summary of the class, null if the classes were only listed or the class could not be read
+     */
+    public ClassSummary getSummary(String className) {
+        return summaries != null ? summaries.get(className) : null;
+    }
+
+    /**
+     * @return the summaries by class name, null if the classes were only listed
+     */
+    public Map<String, ClassSummary> getSummaries() {
+        return summaries;
+    }
+}
@@ -0,0 +1,60 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.Node;
+
+/**
+ * What leaves the classpath of a project when one of its direct dependencies is removed: the dependency itself and
+ * every transitive dependency which is only reached through it
+ */
+public class RemovalImpact {
+
+    // the direct dependency in the dependency tree
+    private Node dependency;
+    // the transitive dependencies only reached through the direct dependency
+    private int exclusiveDependencies;
+    // the size in bytes of the jars of the dependency and its exclusive dependencies
+    private long jarSize;
+    private int classCount;
+    // the references of the project to the dependency and its exclusive dependencies
+    private int usedReferences;
+
+    public Node getDependency() {
+        return dependency;
+    }
+
+    public void setDependency(Node dependency) {
+        this.dependency = dependency;
+    }
+
+    public int getExclusiveDependencies() {
+        return exclusiveDependencies;
+    }
+
+    public void setExclusiveDependencies(int exclusiveDependencies) {
+        this.exclusiveDependencies = exclusiveDependencies;
+    }
+
+    public long getJarSize() {
+        return jarSize;
+    }
+
+    public void setJarSize(long jarSize) {
+        this.jarSize = jarSize;
+    }
+
+    public int getClassCount() {
+        return classCount;
+    }
+
+    public void setClassCount(int classCount) {
+        this.classCount = classCount;
+    }
+
+    public int getUsedReferences() {
+        return usedReferences;
+    }
+
+    public void setUsedReferences(int usedReferences) {
+        this.usedReferences = usedReferences;
+    }
+}
@@ -0,0 +1,145 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.Node;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * How every groupId:artifactId of a dependency tree was resolved: all its occurrences, the version Maven selected and
+ * the occurrences it omitted. The index is built in one pass over the tree from the decoded descriptions of the nodes,
+ * after which every question about an artifact is answered by one lookup.
+ */
+public class ResolutionIndex {
+
+    private final Map<String, Resolution> resolutions = new LinkedHashMap<>();
+    private final Set<String> conflictedArtifacts = new LinkedHashSet<>();
+    private final Map<String, Integer> duplicatedArtifacts = new LinkedHashMap<>();
+
+    /**
+     * @param dependencyTree   the dependency tree
+     * @param excludeTestScope if the test scope dependencies are left out
+     */
+    public ResolutionIndex(Graph<Node, DefaultEdge> dependencyTree, boolean excludeTestScope) {
+        for (Node node : dependencyTree.vertexSet()) {
+            if (excludeTestScope && "test".equals(node.getScope())) {
+                continue;
+            }
+            Resolution resolution = resolutions.computeIfAbsent(node.getArtifactKey(), key -> new Resolution());
+            resolution.occurrences.add(node);
+            resolution.versions.add(node.getVersion());
+            if (!node.isOmitted()) {
+                if (resolution.winner == null) {
+                    resolution.winner = node;
+                }
+            } else {
+                resolution.losers.add(node);
+                if (resolution.winningVersion == null) {
+                    resolution.winningVersion = node.getWinningVersion();
+                }
+                if (node.isConflict()) {
+                    conflictedArtifacts.add(node.getArtifactKey());
+                }
+            }
+        }
+        resolutions.forEach((artifactKey, resolution) -> {
+            if (resolution.occurrences.size() > 1) {
+                duplicatedArtifacts.put(artifactKey, resolution.occurrences.size());
+            }
+        });
+    }
+
+    /**
+     * @return the selected version of the artifact, null if it is not in the tree
+     */
+    public String getWinningVersion(String artifactKey) {
+        Resolution resolution = resolutions.get(artifactKey);
+        if (resolution == null) {
+            return null;
+        }
+        // the selected occurrence can be missing when it is filtered out while an omitted one is not
+        return resolution.winner != null ? resolution.winner.getVersion() : resolution.winningVersion;
+    }
+
+    /**
+     * @return the node of the selected version, null if the tree does not contain it
+     */
+    public Node getWinner(String artifactKey) {
+        Resolution resolution = resolutions.get(artifactKey);
+        return resolution != null ? resolution.winner : null;
+    }
+
+    /**
+     * @return every occurrence of the artifact in the order of the tree
+     */
+    public List<Node> getOccurrences(String artifactKey) {
+        Resolution resolution = resolutions.get(artifactKey);
+        return resolution != null ? Collections.unmodifiableList(resolution.occurrences) : Collections.emptyList();
+    }
+
+    public int getOccurrenceCount(String artifactKey) {
+        Resolution resolution = resolutions.get(artifactKey);
+        return resolution != null ? resolution.occurrences.size() : 0;
+    }
+
+    /**
+     * @return the distinct versions of the artifact in the order of the tree
+     */
+    public Set<String> getVersions(String artifactKey) {
+        Resolution resolution = resolutions.get(artifactKey);
+        return resolution != null ? Collections.unmodifiableSet(resolution.versions) : Collections.emptySet();
+    }
+
+    /**
+     * @return the omitted occurrences of the artifact in the order of the tree
+     */
+    public List<Node> getLosingOccurrences(String artifactKey) {
+        Resolution resolution = resolutions.get(artifactKey);
+        return resolution != null ? Collections.unmodifiableList(resolution.losers) : Collections.emptyList();
+    }
+
+    /**
+     * @return the groupId:artifactId of the artifacts for which another version than the selected one was requested
+     */
+    public Set<String> getConflictedArtifacts() {
+        return Collections.unmodifiableSet(conflictedArtifacts);
+    }
+
+    /**
+     * @return the number of occurrences of every artifact which occurs more than once, by its groupId:artifactId in
+     * the order of the tree
+     */
+    public Map<String, Integer> getDuplicatedArtifacts() {
+        return Collections.unmodifiableMap(duplicatedArtifacts);
+    }
+
+    /**
+     * @return the selected version of every dependency whose selected occurrence is indexed, by its groupId:artifactId
+     */
+    public Map<String, String> getWinningVersions() {
+        Map<String, String> winningVersions = new LinkedHashMap<>();
+        resolutions.forEach((artifactKey, resolution) -> {
+            // the project itself is not one of its dependencies
+            if (resolution.winner != null && resolution.winner.getDepLevel() > 0) {
+                winningVersions.put(artifactKey, resolution.winner.getVersion());
+            }
+        });
+        return winningVersions;
+    }
+
+    private static final class Resolution {
+        private Node winner;
+        // the version the omitted occurrences name, used when the selected occurrence is not indexed
+        private String winningVersion;
+        private final List<Node> occurrences = new ArrayList<>();
+        private final Set<String> versions = new LinkedHashSet<>();
+        private final List<Node> losers = new ArrayList<>();
+    }
+}
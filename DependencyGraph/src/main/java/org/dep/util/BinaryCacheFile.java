@@ -0,0 +1,147 @@
+package org.dep.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The files of the persistent caches. Every file starts with the magic number and the format version of its cache: a
+ * file written by another cache or with an older format is not read, so a cache updates its format version whenever
+ * the stored data changes. A file is written to a temporary file which is then moved in place, so that concurrent
+ * analyses never read a partially written file.
+ */
+final class BinaryCacheFile {
+
+    // the index of a null string
+    static final int NO_VALUE = -1;
+
+    private final int magic;
+    private final int formatVersion;
+
+    interface Reader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    BinaryCacheFile(int magic, int formatVersion) {
+        this.magic = magic;
+        this.formatVersion = formatVersion;
+    }
+
+    /**
+     * @param file   the cache file
+     * @param reader reads the content following the header
+     * @return the content of the file, null if the file does not exist or does not have the header of the cache
+     * @throws IOException exception thrown if the file could not be read
+     */
+    <T> T read(File file, Reader<T> reader) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != magic || in.readInt() != formatVersion) {
+                return null;
+            }
+            return reader.read(in);
+        }
+    }
+
+    /**
+     * @param file   the cache file, which is replaced if it exists
+     * @param writer writes the content following the header
+     * @throws IOException exception thrown if the file could not be written
+     */
+    void write(File file, Writer writer) throws IOException {
+        Path folder = file.getAbsoluteFile().getParentFile().toPath();
+        Files.createDirectories(folder);
+        Path tempFile = Files.createTempFile(folder, file.getName(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(magic);
+                out.writeInt(formatVersion);
+                writer.write(out);
+            }
+            Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * The distinct strings of a cache file, which are written once at the start of the file. The entries then refer to
+     * a string by its index in the table.
+     */
+    static final class StringTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        void add(String value) {
+            if (value != null && !indexes.containsKey(value)) {
+                indexes.put(value, strings.size());
+                strings.add(value);
+            }
+        }
+
+        void add(String[] values) {
+            for (String value : values) {
+                add(value);
+            }
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(strings.size());
+            for (String value : strings) {
+                out.writeUTF(value);
+            }
+        }
+
+        void writeString(DataOutputStream out, String value) throws IOException {
+            out.writeInt(value == null ? NO_VALUE : indexes.get(value));
+        }
+
+        void writeStrings(DataOutputStream out, String[] values) throws IOException {
+            out.writeInt(values.length);
+            for (String value : values) {
+                writeString(out, value);
+            }
+        }
+
+        /**
+         * @return the strings of the table, in the order of their indexes
+         */
+        static String[] read(DataInputStream in) throws IOException {
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            return strings;
+        }
+
+        static String readString(DataInputStream in, String[] strings) throws IOException {
+            int index = in.readInt();
+            return index == NO_VALUE ? null : strings[index];
+        }
+
+        static String[] readStrings(DataInputStream in, String[] strings) throws IOException {
+            String[] values = new String[in.readInt()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = readString(in, strings);
+            }
+            return values;
+        }
+    }
+}
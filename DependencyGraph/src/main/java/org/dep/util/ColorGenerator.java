@@ -1,6 +1,7 @@
 package org.dep.util;
 
 import org.dep.model.ColorStyleTracker;
+import org.dep.model.ResolutionIndex;
 
 import java.awt.*;
 import java.util.ArrayList;
@@ -51,6 +52,14 @@ public class ColorGenerator {
         return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
     }
 
+    /**
+     * Generate the colors of the artifacts which occur more than once in the tree, a hue per artifact and a shade per
+     * occurrence
+     */
+    public static Map<String, ColorStyleTracker> generateColors(ResolutionIndex resolutionIndex) {
+        return generateColors(resolutionIndex.getDuplicatedArtifacts());
+    }
+
     public static Map<String, ColorStyleTracker> generateColors(Map<String, Integer> duplicateNodes) {
         Map<String, ColorStyleTracker> generateColors = new HashMap<>();
 
@@ -5,29 +5,83 @@ import org.apache.commons.exec.DefaultExecutor;
 import org.apache.commons.exec.ExecuteWatchdog;
 import org.apache.commons.exec.PumpStreamHandler;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.time.Duration;
+import java.util.concurrent.Semaphore;
 
 public class CommandExecutor {
 
-    public static String executeCommand(String command, File directory) throws IOException {
-        CommandLine cmdLine = CommandLine.parse(command);
-        DefaultExecutor executor = DefaultExecutor.builder().setWorkingDirectory(directory).get();
-        // Output streams to capture stdout and stderr
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        ByteArrayOutputStream errorStream = new ByteArrayOutputStream();
+    // The time a command is allowed to run before it is terminated
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(300);
 
-        PumpStreamHandler streamHandler = new PumpStreamHandler(outputStream, errorStream);
-        executor.setStreamHandler(streamHandler);
+    /**
+     * Create the permits which limit the number of commands running at the same time, the other commands wait until
+     * one of them finishes
+     *
+     * @param maxConcurrentCommands the maximum number of commands, zero or less for no limit
+     * @return the permits shared by the commands of a run, null if unlimited
+     */
+    public static Semaphore newCommandPermits(int maxConcurrentCommands) {
+        return maxConcurrentCommands > 0 ? new Semaphore(maxConcurrentCommands, true) : null;
+    }
 
-        ExecuteWatchdog watchdog = ExecuteWatchdog.builder().setTimeout(Duration.ofSeconds(300)).get();
-        executor.setWatchdog(watchdog);
-        if (executor.execute(cmdLine) == 0) {
-            return outputStream.toString();
-        } else {
-            return errorStream.toString();
+    /**
+     * Execute the command in the given directory, the output is passed to the monitor line by line as it is printed
+     *
+     * @param command   the command to execute
+     * @param directory the working directory of the command
+     * @param monitor   the monitor which scans the output and enforces the timeouts
+     * @return the monitor, which holds the outcome of the command
+     * @throws IOException exception thrown if the command could not be executed
+     */
+    public static CommandMonitor executeCommand(String command, File directory, CommandMonitor monitor) throws IOException {
+        return executeCommand(command, directory, monitor, null);
+    }
+
+    /**
+     * Execute the command in the given directory once a permit is available
+     *
+     * @param command        the command to execute
+     * @param directory      the working directory of the command
+     * @param monitor        the monitor which scans the output and enforces the timeouts
+     * @param commandPermits the permits limiting the commands running at the same time, null if unlimited
+     * @return the monitor, which holds the outcome of the command
+     * @throws IOException exception thrown if the command could not be executed
+     */
+    public static CommandMonitor executeCommand(String command, File directory, CommandMonitor monitor, Semaphore commandPermits) throws IOException {
+        CommandLine cmdLine = CommandLine.parse(command);
+        DefaultExecutor executor = DefaultExecutor.builder().setWorkingDirectory(directory).get();
+        int exitValue = -1;
+        // stdout and stderr are scanned by separate streams so that their lines are not interleaved
+        try (OutputStream outputStream = monitor.newOutputStream(); OutputStream errorStream = monitor.newOutputStream()) {
+            executor.setStreamHandler(new PumpStreamHandler(outputStream, errorStream));
+            // the monitor terminates the command through the watchdog when a phase times out
+            ExecuteWatchdog watchdog = ExecuteWatchdog.builder().setTimeout(ExecuteWatchdog.INFINITE_TIMEOUT_DURATION).get();
+            executor.setWatchdog(watchdog);
+            // accept any exit value, the monitor decides if the command succeeded
+            executor.setExitValues(null);
+            if (commandPermits != null) {
+                commandPermits.acquire();
+            }
+            try {
+                // the timeouts start once the command runs, not while it waits for a permit
+                monitor.start(watchdog);
+                exitValue = executor.execute(cmdLine);
+            } finally {
+                if (commandPermits != null) {
+                    commandPermits.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a permit to run the command: " + command);
+        } finally {
+            // the streams are closed first so that the last line of the output is scanned as well
+            monitor.finish(exitValue);
         }
+        return monitor;
     }
 }
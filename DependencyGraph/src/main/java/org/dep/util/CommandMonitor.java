@@ -0,0 +1,199 @@
+package org.dep.util;
+
+import org.apache.commons.exec.ExecuteWatchdog;
+import org.apache.commons.exec.LogOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Scans the output of a command line by line while it runs, instead of buffering the whole output. The success marker
+ * is detected as soon as it is printed, only the last lines are kept for error reporting, and the command is terminated
+ * when one of its phases runs longer than the timeout of that phase. A failure is known from the exit value, since
+ * Maven only prints its failure marker once the build is over.
+ */
+public class CommandMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandMonitor.class);
+    private static final int TAIL_SIZE = 100;
+    private static final String MAVEN_SUCCESS = "BUILD SUCCESS";
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "command-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Duration timeout;
+    // the timeout of a phase starts when a line containing its marker is printed
+    private final Map<String, Duration> phaseTimeouts = new LinkedHashMap<>();
+    private final Deque<String> tail = new ArrayDeque<>();
+    private String successMarker;
+    private Consumer<String> lineListener;
+
+    private ExecuteWatchdog watchdog;
+    private ScheduledFuture<?> timeoutTask;
+    // identifies the latest scheduled timeout, since a cancelled task may already be waiting for the lock
+    private int timeoutGeneration;
+    private String currentPhase;
+    private String timedOutPhase;
+    private boolean successDetected;
+    private boolean timedOut;
+    private boolean finished;
+    private int exitValue = -1;
+
+    /**
+     * @param timeout the time the command is allowed to run before the first phase starts, or when it has no phases
+     */
+    public CommandMonitor(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Create a monitor which detects the outcome of a Maven build
+     *
+     * @param timeout the time the build is allowed to run before the first phase starts, or when it has no phases
+     * @return the monitor
+     */
+    public static CommandMonitor forMaven(Duration timeout) {
+        return new CommandMonitor(timeout).setSuccessMarker(MAVEN_SUCCESS);
+    }
+
+    /**
+     * @param successMarker the text printed when the command succeeded, which is required for the command to succeed
+     * @return the monitor
+     */
+    public CommandMonitor setSuccessMarker(String successMarker) {
+        this.successMarker = successMarker;
+        return this;
+    }
+
+    /**
+     * Add a phase of the command, which restarts the timeout whenever a line containing the marker is printed
+     *
+     * @param marker  the text printed when the phase starts
+     * @param timeout the time the phase is allowed to run
+     * @return the monitor
+     */
+    public CommandMonitor addPhase(String marker, Duration timeout) {
+        phaseTimeouts.put(marker, timeout);
+        return this;
+    }
+
+    /**
+     * @param lineListener receives every line of the output as it is printed
+     * @return the monitor
+     */
+    public CommandMonitor setLineListener(Consumer<String> lineListener) {
+        this.lineListener = lineListener;
+        return this;
+    }
+
+    /**
+     * @return a stream which passes every line written to it to the monitor
+     */
+    OutputStream newOutputStream() {
+        return new LogOutputStream(0, Charset.defaultCharset()) {
+            @Override
+            protected void processLine(String line, int logLevel) {
+                onLine(line);
+            }
+        };
+    }
+
+    synchronized void start(ExecuteWatchdog watchdog) {
+        this.watchdog = watchdog;
+        scheduleTimeout(timeout);
+    }
+
+    synchronized void finish(int exitValue) {
+        finished = true;
+        this.exitValue = exitValue;
+        if (timeoutTask != null) {
+            timeoutTask.cancel(false);
+        }
+        if (!isSuccess()) {
+            logger.warn(String.format("Command failed with exit value %d%s, last lines of the output:%n%s", exitValue,
+                    timedOut ? String.format(" after the %s phase timed out", timedOutPhase) : "",
+                    String.join(System.lineSeparator(), tail)));
+        }
+    }
+
+    private synchronized void onLine(String line) {
+        if (tail.size() == TAIL_SIZE) {
+            tail.removeFirst();
+        }
+        tail.addLast(line);
+        if (successMarker != null && line.contains(successMarker)) {
+            successDetected = true;
+        }
+        for (Map.Entry<String, Duration> phase : phaseTimeouts.entrySet()) {
+            if (line.contains(phase.getKey())) {
+                currentPhase = phase.getKey();
+                scheduleTimeout(phase.getValue());
+                break;
+            }
+        }
+        if (lineListener != null) {
+            lineListener.accept(line);
+        }
+    }
+
+    private void scheduleTimeout(Duration phaseTimeout) {
+        if (timeoutTask != null) {
+            timeoutTask.cancel(false);
+        }
+        int generation = ++timeoutGeneration;
+        timeoutTask = TIMER.schedule(() -> onTimeout(generation), phaseTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void onTimeout(int generation) {
+        // a new phase may have started or the command finished while the task was waiting for the lock
+        if (finished || timedOut || generation != timeoutGeneration) {
+            return;
+        }
+        timedOut = true;
+        timedOutPhase = currentPhase == null ? "startup" : currentPhase;
+        logger.warn(String.format("Terminating the command since the %s phase exceeded its timeout", timedOutPhase));
+        watchdog.destroyProcess();
+    }
+
+    /**
+     * @return if the command exited normally and printed the success marker, when one is set
+     */
+    public synchronized boolean isSuccess() {
+        return finished && exitValue == 0 && !timedOut && (successMarker == null || successDetected);
+    }
+
+    public synchronized boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public synchronized String getTimedOutPhase() {
+        return timedOutPhase;
+    }
+
+    public synchronized int getExitValue() {
+        return exitValue;
+    }
+
+    /**
+     * @return the last lines of the output
+     */
+    public synchronized List<String> getTail() {
+        return new ArrayList<>(tail);
+    }
+}
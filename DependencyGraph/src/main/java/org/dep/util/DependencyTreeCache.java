@@ -0,0 +1,211 @@
+package org.dep.util;
+
+import fr.dutra.tools.maven.deptree.core.InputType;
+import fr.dutra.tools.maven.deptree.core.Node;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Parent;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.dep.util.BinaryCacheFile.StringTable;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistent cache of parsed dependency trees. A tree is stored under a hash of the inputs which determine it, the
+ * project pom, its parent poms and the Maven settings, so that an unchanged project does not need Maven to generate
+ * its dependency tree again.
+ */
+public class DependencyTreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyTreeCache.class);
+    // Update the format version when the stored data changes, so that old entries are no longer used
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAGIC = 0x44545243;
+    private static final String CACHE_FILE_EXTENSION = ".tree";
+    private static final BinaryCacheFile FILES = new BinaryCacheFile(MAGIC, FORMAT_VERSION);
+
+    private final File cacheFolder;
+
+    public DependencyTreeCache(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    /**
+     * Compute the cache key of the project using the content of its pom, parent poms and the settings.xml, along with
+     * how the tree is generated: the in-process resolver and the output types of Maven do not give the same tree, e.g.
+     * the omitted nodes of a json tree are inferred
+     *
+     * @param projectPom        the pom file of the project
+     * @param resolvedInProcess if the tree is resolved in-process instead of generated by Maven
+     * @param treeFormat        the output type of the tree generated by Maven, not used for a tree resolved in-process
+     * @return the hash of the inputs which determine the dependency tree
+     * @throws IOException exception thrown if the inputs could not be read
+     */
+    public String computeKey(File projectPom, boolean resolvedInProcess, InputType treeFormat) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        digest.update(Integer.toString(FORMAT_VERSION).getBytes(StandardCharsets.UTF_8));
+        digest.update((resolvedInProcess ? "in-process" : "maven:" + treeFormat.name()).getBytes(StandardCharsets.UTF_8));
+        Set<File> visitedPoms = new HashSet<>();
+        File pom = projectPom;
+        while (pom != null && visitedPoms.add(pom.getCanonicalFile())) {
+            digest.update(Files.readAllBytes(pom.toPath()));
+            Model model = readModel(pom);
+            if (model == null || model.getParent() == null) {
+                break;
+            }
+            Parent parent = model.getParent();
+            File parentPom = findParentPom(pom, parent);
+            if (parentPom == null) {
+                // a parent which is not available yet changes the key once it is downloaded
+                digest.update(("missing:" + parent.getId()).getBytes(StandardCharsets.UTF_8));
+            }
+            pom = parentPom;
+        }
+        File userSettings = MavenLocalRepository.getUserSettings();
+        if (userSettings.exists()) {
+            digest.update(Files.readAllBytes(userSettings.toPath()));
+        }
+        String mavenHome = System.getenv("MAVEN_HOME");
+        if (mavenHome != null) {
+            File globalSettings = new File(mavenHome, "conf" + File.separator + "settings.xml");
+            if (globalSettings.exists()) {
+                digest.update(Files.readAllBytes(globalSettings.toPath()));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Load the dependency tree stored for the key
+     *
+     * @param key the cache key of the project
+     * @return the dependency tree or null if it is not in the cache
+     */
+    public Graph<Node, DefaultEdge> load(String key) {
+        File cacheFile = new File(cacheFolder, key + CACHE_FILE_EXTENSION);
+        try {
+            return FILES.read(cacheFile, in -> {
+                String[] strings = StringTable.read(in);
+                int nodeCount = in.readInt();
+                Node[] nodes = new Node[nodeCount];
+                int[] parents = new int[nodeCount];
+                Graph<Node, DefaultEdge> dependencyTree = new DefaultDirectedGraph<>(DefaultEdge.class);
+                for (int i = 0; i < nodeCount; i++) {
+                    parents[i] = in.readInt();
+                    nodes[i] = new Node(
+                            StringTable.readString(in, strings),
+                            StringTable.readString(in, strings),
+                            StringTable.readString(in, strings),
+                            StringTable.readString(in, strings),
+                            StringTable.readString(in, strings),
+                            StringTable.readString(in, strings),
+                            StringTable.readString(in, strings),
+                            in.readInt(),
+                            in.readBoolean());
+                    dependencyTree.addVertex(nodes[i]);
+                }
+                for (int i = 0; i < nodeCount; i++) {
+                    if (parents[i] != BinaryCacheFile.NO_VALUE) {
+                        dependencyTree.addEdge(nodes[parents[i]], nodes[i]);
+                    }
+                }
+                return dependencyTree;
+            });
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to read the cached dependency tree: %s", cacheFile));
+            return null;
+        }
+    }
+
+    /**
+     * Store the dependency tree under the key. Every distinct string is only written once and the nodes refer to it
+     * by its index.
+     *
+     * @param key            the cache key of the project
+     * @param dependencyTree the dependency tree of the project
+     */
+    public void store(String key, Graph<Node, DefaultEdge> dependencyTree) {
+        Map<Node, Integer> nodeIndexes = Node.newIdentityMap();
+        StringTable strings = new StringTable();
+        for (Node node : dependencyTree.vertexSet()) {
+            nodeIndexes.put(node, nodeIndexes.size());
+            strings.add(new String[]{node.getGroupId(), node.getArtifactId(), node.getPackaging(), node.getClassifier(), node.getVersion(), node.getScope(), node.getDescription()});
+        }
+        try {
+            FILES.write(new File(cacheFolder, key + CACHE_FILE_EXTENSION), out -> {
+                strings.write(out);
+                out.writeInt(nodeIndexes.size());
+                for (Node node : dependencyTree.vertexSet()) {
+                    if (dependencyTree.inDegreeOf(node) == 0) {
+                        out.writeInt(BinaryCacheFile.NO_VALUE);
+                    } else {
+                        Node parent = dependencyTree.getEdgeSource(dependencyTree.incomingEdgesOf(node).iterator().next());
+                        out.writeInt(nodeIndexes.get(parent));
+                    }
+                    strings.writeString(out, node.getGroupId());
+                    strings.writeString(out, node.getArtifactId());
+                    strings.writeString(out, node.getPackaging());
+                    strings.writeString(out, node.getClassifier());
+                    strings.writeString(out, node.getVersion());
+                    strings.writeString(out, node.getScope());
+                    strings.writeString(out, node.getDescription());
+                    out.writeInt(node.getDepLevel());
+                    out.writeBoolean(node.isOmitted());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to cache the dependency tree in %s", cacheFolder));
+        }
+    }
+
+    /**
+     * Find the parent pom in the project folder structure using the relative path, otherwise in the local repository
+     */
+    private static File findParentPom(File pom, Parent parent) {
+        String relativePath = parent.getRelativePath();
+        if (relativePath != null && !relativePath.isEmpty()) {
+            File parentPom = new File(pom.getParentFile(), relativePath);
+            if (parentPom.isDirectory()) {
+                parentPom = new File(parentPom, "pom.xml");
+            }
+            if (parentPom.exists()) {
+                Model parentModel = readModel(parentPom);
+                if (parentModel != null && parent.getArtifactId().equals(parentModel.getArtifactId())
+                        && parent.getVersion().equals(parentModel.getVersion() == null && parentModel.getParent() != null ? parentModel.getParent().getVersion() : parentModel.getVersion())) {
+                    return parentPom;
+                }
+            }
+        }
+        File parentPom = MavenLocalRepository.getArtifactFile(parent.getGroupId(), parent.getArtifactId(), parent.getVersion(), null, "pom");
+        return parentPom.exists() ? parentPom : null;
+    }
+
+    private static Model readModel(File pom) {
+        try (Reader reader = new FileReader(pom)) {
+            return new MavenXpp3Reader().read(reader);
+        } catch (Exception e) {
+            logger.warn(String.format("Failed to read the pom: %s", pom));
+            return null;
+        }
+    }
+}
@@ -2,10 +2,13 @@ package org.dep.util;
 
 
 import fr.dutra.tools.maven.deptree.core.Node;
+import org.dep.model.AnalysisSummary;
+import org.dep.model.CompactTree;
+import org.dep.model.DominatorTree;
 import org.dep.model.Reference;
+import org.dep.model.RemovalImpact;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.traverse.BreadthFirstIterator;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.slf4j.Logger;
@@ -14,9 +17,9 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.HashSet;
 
 
 import static org.dep.analyzer.GraphAnalyzer.REPORT_FOLDER;
@@ -34,6 +37,10 @@ public class HTMLReport {
     //Name of the HTML file created with the dependency graph
     public static final String GRAPH_HTML = "Graph.html";
 
+    // Name of the HTML file created with the summary of all modules of a reactor
+    public static final String REACTOR_SUMMARY_HTML = "ReactorSummary.html";
+    public static final String BATCH_SUMMARY_HTML = "BatchSummary.html";
+
     /**
      * Generate the HTML page with the mermaid graph created
      * @param mermaidGraph the mermaid graph string
@@ -41,6 +48,17 @@ public class HTMLReport {
      * @throws IOException The exception will fail if it fails to create the file
      */
     public static void generateMermaidGraphHTML(String mermaidGraph, String rootName) throws IOException {
+        generateMermaidGraphHTML(REPORT_FOLDER, mermaidGraph, rootName);
+    }
+
+    /**
+     * Generate the HTML page with the mermaid graph created in the given report folder
+     * @param reportFolder the folder in which the reports of the project are generated
+     * @param mermaidGraph the mermaid graph string
+     * @param rootName Name of the project under analysis
+     * @throws IOException The exception will fail if it fails to create the file
+     */
+    public static void generateMermaidGraphHTML(String reportFolder, String mermaidGraph, String rootName) throws IOException {
         Document doc = Document.createShell("");
 
         doc.head().appendElement("title").text("Dependency Graph");
@@ -55,13 +73,22 @@ public class HTMLReport {
         body.appendElement("h2").text(rootName);
         Element divTag = body.appendElement("div");
         divTag.appendElement("pre").addClass("mermaid").text(mermaidGraph);
-        File outputFile = new File(REPORT_FOLDER, GRAPH_HTML);
-        Helper.createFolderIfNotExists(REPORT_FOLDER);
+        File outputFile = new File(reportFolder, GRAPH_HTML);
+        Helper.createFolderIfNotExists(reportFolder);
         Files.write(outputFile.toPath(), doc.outerHtml().getBytes());
         logger.info("Output File: " + outputFile.getAbsolutePath());
     }
 
     public static void generateDependencyDetailsHTML(String projectName, Graph<Node, DefaultEdge> dependencyTree, Map<Node, String> hrefTransitiveMap, Map<String, Set<Reference>> allUnMappedReferences) throws IOException {
+        generateDependencyDetailsHTML(REPORT_FOLDER, projectName, dependencyTree, hrefTransitiveMap, allUnMappedReferences);
+    }
+
+    public static void generateDependencyDetailsHTML(String reportFolder, String projectName, Graph<Node, DefaultEdge> dependencyTree, Map<Node, String> hrefTransitiveMap, Map<String, Set<Reference>> allUnMappedReferences) throws IOException {
+        CompactTree compactTree = new CompactTree(dependencyTree);
+        generateDependencyDetailsHTML(reportFolder, projectName, compactTree, hrefTransitiveMap, allUnMappedReferences, new DominatorTree(compactTree, false).getRemovalCandidates());
+    }
+
+    public static void generateDependencyDetailsHTML(String reportFolder, String projectName, CompactTree dependencyTree, Map<Node, String> hrefTransitiveMap, Map<String, Set<Reference>> allUnMappedReferences, List<RemovalImpact> removalCandidates) throws IOException {
         Document doc = Document.createShell("");
 
         doc.head().appendElement("title").text("Dependency Report");
@@ -82,10 +109,116 @@ public class HTMLReport {
 
         appendTableBody(dependencyTree, hrefTransitiveMap, table);
 
+        addRemovalCandidates(removalCandidates, doc);
+
         addUnMappedReferences(projectName, allUnMappedReferences, doc);
 
-        File outputFile = new File(REPORT_FOLDER, DEP_DETAILS_HTML);
+        File outputFile = new File(reportFolder, DEP_DETAILS_HTML);
+        Files.write(outputFile.toPath(), doc.outerHtml().getBytes());
+    }
+
+    /**
+     * Generate the HTML page which summarizes the analysis of every module of a reactor, with links to the reports of
+     * each module and the dependencies resolved to different versions by the modules
+     * @param reportFolder the folder which contains the reports of the modules
+     * @param projectName Name of the reactor project
+     * @param summaries the summaries of the modules
+     * @param divergentVersions the dependencies resolved to more than one version and the modules using each version
+     * @throws IOException The exception will fail if it fails to create the file
+     */
+    public static void generateReactorSummaryHTML(String reportFolder, String projectName, List<AnalysisSummary> summaries, Map<String, Map<String, List<String>>> divergentVersions) throws IOException {
+        generateSummaryHTML(new File(reportFolder, REACTOR_SUMMARY_HTML), "Reactor Report",
+                "Dependency resolution of the modules of " + projectName, "Module", summaries, divergentVersions);
+    }
+
+    /**
+     * Generate the HTML page which summarizes the analysis of every project of a batch, with links to the reports of
+     * each project and the dependencies resolved to different versions by the projects
+     * @param reportFolder the folder which contains the reports of the projects
+     * @param summaries the summaries of the projects
+     * @param divergentVersions the dependencies resolved to more than one version and the projects using each version
+     * @throws IOException The exception will fail if it fails to create the file
+     */
+    public static void generateBatchSummaryHTML(String reportFolder, List<AnalysisSummary> summaries, Map<String, Map<String, List<String>>> divergentVersions) throws IOException {
+        generateSummaryHTML(new File(reportFolder, BATCH_SUMMARY_HTML), "Batch Report",
+                "Dependency resolution of " + summaries.size() + " projects", "Project", summaries, divergentVersions);
+    }
+
+    private static void generateSummaryHTML(File outputFile, String title, String heading, String entryLabel, List<AnalysisSummary> summaries, Map<String, Map<String, List<String>>> divergentVersions) throws IOException {
+        String reportFolder = outputFile.getParent();
+        Document doc = Document.createShell("");
+
+        doc.head().appendElement("title").text(title);
+        doc.head().appendElement("style").attr("type", "text/css").text(
+                "table { border-collapse: collapse; width: 100%; }" +
+                        "th, td { border: 1px solid black; padding: 8px; }" +
+                        "th { background-color: #f2f2f2; }"
+        );
+        doc.body().appendElement("h1").text(heading);
+
+        Element table = doc.body().appendElement("table");
+        Element headerRow = table.appendElement("tr");
+        headerRow.appendElement("th").text(entryLabel);
+        headerRow.appendElement("th").text("Dependencies");
+        headerRow.appendElement("th").text("Omitted");
+        headerRow.appendElement("th").text("Conflicts");
+        headerRow.appendElement("th").text("Bloated Direct Dependencies");
+        headerRow.appendElement("th").text("Unmapped References");
+        for (AnalysisSummary summary : summaries) {
+            Element row = table.appendElement("tr");
+            String moduleFolder = new File(reportFolder).toPath().relativize(new File(summary.getReportFolder()).toPath()).toString().replace(File.separatorChar, '/');
+            Element td = row.appendElement("td");
+            if (summary.isFailed()) {
+                td.text(summary.getProjectName() + " (failed: " + summary.getError() + ")");
+            } else {
+                td.appendElement("a").attr("href", moduleFolder + "/" + DEP_DETAILS_HTML).text(summary.getProjectName());
+            }
+            row.appendElement("td").text(String.valueOf(summary.getDependencies()));
+            row.appendElement("td").text(String.valueOf(summary.getOmittedDependencies()));
+            row.appendElement("td").text(String.valueOf(summary.getConflicts()));
+            row.appendElement("td").text(String.valueOf(summary.getBloatedDirectDependencies()));
+            row.appendElement("td").text(String.valueOf(summary.getUnmappedReferences()));
+        }
+
+        if (!divergentVersions.isEmpty()) {
+            doc.body().appendElement("h2").text("Dependencies resolved to different versions across the " + entryLabel.toLowerCase() + "s");
+            Element versionTable = doc.body().appendElement("table");
+            Element versionHeader = versionTable.appendElement("tr");
+            versionHeader.appendElement("th").text("Dependency");
+            versionHeader.appendElement("th").text("Version");
+            versionHeader.appendElement("th").text(entryLabel + "s");
+            divergentVersions.forEach((dependency, versions) -> versions.forEach((version, modules) -> {
+                Element row = versionTable.appendElement("tr");
+                row.appendElement("td").text(dependency);
+                row.appendElement("td").text(version);
+                row.appendElement("td").text(String.join(", ", modules));
+            }));
+        }
+
         Files.write(outputFile.toPath(), doc.outerHtml().getBytes());
+        logger.info("Output File: " + outputFile.getAbsolutePath());
+    }
+
+    private static void addRemovalCandidates(List<RemovalImpact> removalCandidates, Document doc) {
+        if (!removalCandidates.isEmpty()) {
+            // the direct dependencies ranked by what leaves the classpath when they are removed
+            doc.body().appendElement("h2").text("Removal candidates");
+            Element table = doc.body().appendElement("table");
+            Element headerRow = table.appendElement("tr");
+            headerRow.appendElement("th").text("Direct Dependency");
+            headerRow.appendElement("th").text("Exclusive Transitive Dependencies");
+            headerRow.appendElement("th").text("Exclusive Jar Size (bytes)");
+            headerRow.appendElement("th").text("Exclusive Classes");
+            headerRow.appendElement("th").text("Exclusive Used References");
+            for (RemovalImpact impact : removalCandidates) {
+                Element row = table.appendElement("tr");
+                row.appendElement("td").text(impact.getDependency().getDependencyName());
+                row.appendElement("td").text(String.valueOf(impact.getExclusiveDependencies()));
+                row.appendElement("td").text(String.valueOf(impact.getJarSize()));
+                row.appendElement("td").text(String.valueOf(impact.getClassCount()));
+                row.appendElement("td").text(String.valueOf(impact.getUsedReferences()));
+            }
+        }
     }
 
     private static void addUnMappedReferences(String projectName, Map<String, Set<Reference>> allUnMappedReferences, Document doc) {
@@ -110,48 +243,38 @@ public class HTMLReport {
         }
     }
 
-    private static void appendTableBody(Graph<Node, DefaultEdge> dependencyTree, Map<Node, String> hrefTransitiveMap, Element table) {
-        BreadthFirstIterator<Node, DefaultEdge> iterator = new BreadthFirstIterator<>(dependencyTree);
-        Set<DefaultEdge> visitedEdges = new HashSet<>();
-        while (iterator.hasNext()) {
-            Node node = iterator.next();
-            // Iterate through edges connected to this vertex
-            for (DefaultEdge edge : dependencyTree.edgesOf(node)) {
-                if (!visitedEdges.contains(edge)) {
-                    Node currentNode = dependencyTree.getEdgeTarget(edge);
-                    StringBuilder referencesString = new StringBuilder();
-                    Map<String, Set<Reference>> classAndReferences = dependencyTree.getEdgeTarget(edge).getReferences();
-                    formatReferenceString(referencesString, classAndReferences, "<br>");
-                    visitedEdges.add(edge);
-                    Element row;
-                    if (hrefTransitiveMap.containsKey(currentNode)) {
-                        row = table.appendElement("tr id = \"" + hrefTransitiveMap.get(currentNode) + "\"");
-                    } else {
-                        row = table.appendElement("tr");
-
-                    }
-
-                    row.appendElement("td").text(currentNode.getDependencyName());
-                    row.appendElement("td").text(currentNode.getScope());
-                    row.appendElement("td").text(String.valueOf(currentNode.getDepLevel()));
-                    row.appendElement("td").text(String.valueOf(currentNode.isOmitted()));
-                    if (node.getDescription() != null) {
-                        row.appendElement("td").text(String.valueOf(node.getDescription().contains("conflict with")));
-                    } else {
-                        row.appendElement("td").text("false");
-                    }
-                    row.appendElement("td").text(String.valueOf(currentNode.isBloatedDep()));
-                    if (hrefTransitiveMap.containsKey(currentNode)) {
-                        //L1-org.apache.velocity:velocity-1.6.4 --.text <a href='http://google.com'>link</a>.--> - for the hyperlink
-                        Element td = row.appendElement("td");
-                        td.appendElement("a")
-                                .attr("href", hrefTransitiveMap.get(currentNode))
-                                .attr("style", "display: block; text-decoration: none; color: inherit;")
-                                .html(referencesString.toString());
-                    } else {
-                        row.appendElement("td").html(referencesString.toString());
-                    }
-                }
+    private static void appendTableBody(CompactTree dependencyTree, Map<Node, String> hrefTransitiveMap, Element table) {
+        // every dependency in the breadth first order, the root is not a dependency
+        for (int index = 1; index < dependencyTree.size(); index++) {
+            Node currentNode = dependencyTree.getNode(dependencyTree.getBreadthFirst(index));
+            StringBuilder referencesString = new StringBuilder();
+            formatReferenceString(referencesString, currentNode.getReferences(), "<br>");
+            Element row;
+            if (hrefTransitiveMap.containsKey(currentNode)) {
+                row = table.appendElement("tr id = \"" + hrefTransitiveMap.get(currentNode) + "\"");
+            } else {
+                row = table.appendElement("tr");
+
+            }
+
+            row.appendElement("td").text(currentNode.getDependencyName());
+            row.appendElement("td").text(currentNode.getScope());
+            row.appendElement("td").text(String.valueOf(currentNode.getDepLevel()));
+            row.appendElement("td").text(String.valueOf(currentNode.isOmitted()));
+            row.appendElement("td").text(String.valueOf(currentNode.isConflict()));
+            row.appendElement("td").text(String.valueOf(currentNode.isBloatedDep()));
+            row.appendElement("td").text(String.valueOf(currentNode.getSubtreeUsedClasses()));
+            row.appendElement("td").text(String.valueOf(currentNode.getSubtreeUsedReferences()));
+            row.appendElement("td").text(String.valueOf(currentNode.getUsedDescendants()));
+            if (hrefTransitiveMap.containsKey(currentNode)) {
+                //L1-org.apache.velocity:velocity-1.6.4 --.text <a href='http://google.com'>link</a>.--> - for the hyperlink
+                Element td = row.appendElement("td");
+                td.appendElement("a")
+                        .attr("href", hrefTransitiveMap.get(currentNode))
+                        .attr("style", "display: block; text-decoration: none; color: inherit;")
+                        .html(referencesString.toString());
+            } else {
+                row.appendElement("td").html(referencesString.toString());
             }
         }
     }
@@ -188,6 +311,9 @@ public class HTMLReport {
         headerRow.appendElement("th").text("Is Omitted");
         headerRow.appendElement("th").text("Is Conflicting");
         headerRow.appendElement("th").text("Bloated Direct Dependency");
+        headerRow.appendElement("th").text("Used Classes In Subtree");
+        headerRow.appendElement("th").text("Used References In Subtree");
+        headerRow.appendElement("th").text("Used Transitive Dependencies");
         headerRow.appendElement("th").text("Invoked References");
     }
 }
@@ -0,0 +1,250 @@
+package org.dep.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Lists the classes of a jar from the central directory at the end of the zip file. The central directory is read at
+ * once and walked in place: only the names of the entries are looked at, the other entries are skipped without
+ * creating any object, and the content of a class is only read and inflated when it is requested. Unlike
+ * {@link java.util.jar.JarFile} the manifest and the signatures of the jar are not read.
+ * <p>
+ * The jar stays open until the reader is closed.
+ */
+public class JarClassReader implements Closeable {
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final long ZIP64_VALUE = 0xFFFFFFFFL;
+    private static final byte[] CLASS_SUFFIX = ".class".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final ByteBuffer directory;
+    // the class names in the internal form and the position of their header in the central directory
+    private final String[] classNames;
+    private final int[] headerPositions;
+
+    private JarClassReader(FileChannel channel, ByteBuffer directory, String[] classNames, int[] headerPositions) {
+        this.channel = channel;
+        this.directory = directory;
+        this.classNames = classNames;
+        this.headerPositions = headerPositions;
+    }
+
+    /**
+     * Open the jar and list its classes
+     *
+     * @param jarFile the jar file
+     * @return the reader of the classes of the jar, which has to be closed
+     * @throws IOException exception thrown if the file could not be read or is not a zip file
+     */
+    public static JarClassReader open(File jarFile) throws IOException {
+        FileChannel channel = FileChannel.open(jarFile.toPath(), StandardOpenOption.READ);
+        try {
+            return open(channel, jarFile);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static JarClassReader open(FileChannel channel, File jarFile) throws IOException {
+        long end = findEndOfCentralDirectory(channel, jarFile);
+        ByteBuffer endRecord = read(channel, end, END_OF_CENTRAL_DIRECTORY_SIZE, jarFile);
+        long entryCount = Short.toUnsignedInt(endRecord.getShort(10));
+        long directorySize = Integer.toUnsignedLong(endRecord.getInt(12));
+        long directoryOffset = Integer.toUnsignedLong(endRecord.getInt(16));
+        if ((entryCount == 0xFFFF || directorySize == ZIP64_VALUE || directoryOffset == ZIP64_VALUE)
+                && end >= ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE) {
+            // the actual values are in the zip64 record, which the locator right before the end record points to
+            ByteBuffer locator = read(channel, end - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE, jarFile);
+            if (locator.getInt(0) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+                ByteBuffer zip64End = read(channel, locator.getLong(8), ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE, jarFile);
+                if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY) {
+                    throw new ZipException(String.format("Invalid zip64 end of central directory: %s", jarFile));
+                }
+                entryCount = zip64End.getLong(32);
+                directorySize = zip64End.getLong(40);
+                directoryOffset = zip64End.getLong(48);
+            }
+        }
+        if (directorySize > Integer.MAX_VALUE || directoryOffset + directorySize > end) {
+            throw new ZipException(String.format("Invalid central directory: %s", jarFile));
+        }
+
+        // the entries are walked in place, only the names of the classes are copied out of the directory
+        ByteBuffer directory = read(channel, directoryOffset, (int) directorySize, jarFile);
+        String[] classNames = new String[(int) Math.min(entryCount, directory.limit() / CENTRAL_DIRECTORY_HEADER_SIZE)];
+        int[] headerPositions = new int[classNames.length];
+        int classCount = 0;
+        byte[] name = new byte[256];
+        int position = 0;
+        for (long entry = 0; entry < entryCount; entry++) {
+            if (position + CENTRAL_DIRECTORY_HEADER_SIZE > directory.limit() || directory.getInt(position) != CENTRAL_DIRECTORY_HEADER) {
+                throw new ZipException(String.format("Invalid central directory header: %s", jarFile));
+            }
+            int nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            int nameStart = position + CENTRAL_DIRECTORY_HEADER_SIZE;
+            if (nameStart + nameLength > directory.limit()) {
+                throw new ZipException(String.format("Invalid central directory header: %s", jarFile));
+            }
+            if (endsWithClassSuffix(directory, nameStart, nameLength)) {
+                if (name.length < nameLength) {
+                    name = new byte[nameLength];
+                }
+                directory.get(nameStart, name, 0, nameLength);
+                if (classCount == classNames.length) {
+                    classNames = Arrays.copyOf(classNames, classCount * 2 + 1);
+                    headerPositions = Arrays.copyOf(headerPositions, classNames.length);
+                }
+                classNames[classCount] = new String(name, 0, nameLength - CLASS_SUFFIX.length, StandardCharsets.UTF_8);
+                headerPositions[classCount++] = position;
+            }
+            position = nameStart + nameLength + extraLength + commentLength;
+        }
+        return new JarClassReader(channel, directory, Arrays.copyOf(classNames, classCount), Arrays.copyOf(headerPositions, classCount));
+    }
+
+    /**
+     * @return the number of classes in the jar
+     */
+    public int size() {
+        return classNames.length;
+    }
+
+    /**
+     * @param index the index of the class, from 0 to {@link #size()} - 1
+     * @return the name of the class in the internal form using '/' as the separator
+     */
+    public String getClassName(int index) {
+        return classNames[index];
+    }
+
+    /**
+     * Read and inflate the content of a class
+     *
+     * @param index the index of the class, from 0 to {@link #size()} - 1
+     * @return the class file
+     * @throws IOException exception thrown if the entry is invalid, compressed with an unsupported method or the reader
+     *                     is closed
+     */
+    public byte[] readClass(int index) throws IOException {
+        int header = headerPositions[index];
+        int method = Short.toUnsignedInt(directory.getShort(header + 10));
+        long compressedSize = Integer.toUnsignedLong(directory.getInt(header + 20));
+        long size = Integer.toUnsignedLong(directory.getInt(header + 24));
+        long localHeader = Integer.toUnsignedLong(directory.getInt(header + 42));
+        if (compressedSize == ZIP64_VALUE || size == ZIP64_VALUE || localHeader == ZIP64_VALUE) {
+            throw new ZipException(String.format("Unsupported zip64 entry: %s", classNames[index]));
+        }
+        // the lengths of the local header can differ from the ones of the central directory
+        ByteBuffer local = read(channel, localHeader, LOCAL_FILE_HEADER_SIZE, null);
+        if (local.getInt(0) != LOCAL_FILE_HEADER) {
+            throw new ZipException(String.format("Invalid local file header: %s", classNames[index]));
+        }
+        long dataStart = localHeader + LOCAL_FILE_HEADER_SIZE + Short.toUnsignedInt(local.getShort(26)) + Short.toUnsignedInt(local.getShort(28));
+        ByteBuffer data = read(channel, dataStart, (int) compressedSize, null);
+        byte[] content = new byte[(int) size];
+        switch (method) {
+            case STORED:
+                data.get(content);
+                return content;
+            case DEFLATED:
+                Inflater inflater = new Inflater(true);
+                try {
+                    inflater.setInput(data);
+                    int length = 0;
+                    while (length < content.length && !inflater.finished()) {
+                        int inflated = inflater.inflate(content, length, content.length - length);
+                        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        length += inflated;
+                    }
+                    if (length != content.length) {
+                        throw new ZipException(String.format("Truncated entry: %s", classNames[index]));
+                    }
+                    return content;
+                } catch (DataFormatException e) {
+                    throw new ZipException(String.format("Invalid compressed entry %s: %s", classNames[index], e.getMessage()));
+                } finally {
+                    inflater.end();
+                }
+            default:
+                throw new ZipException(String.format("Unsupported compression method %d: %s", method, classNames[index]));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static long findEndOfCentralDirectory(FileChannel channel, File jarFile) throws IOException {
+        // the end record is followed by a comment of up to 64KB
+        long fileSize = channel.size();
+        int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        long tailStart = fileSize - tailSize;
+        ByteBuffer tail = read(channel, tailStart, tailSize, jarFile);
+        for (int position = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == END_OF_CENTRAL_DIRECTORY
+                    && position + END_OF_CENTRAL_DIRECTORY_SIZE + Short.toUnsignedInt(tail.getShort(position + 20)) == tailSize) {
+                return tailStart + position;
+            }
+        }
+        throw new ZipException(String.format("No end of central directory found, the file is not a jar: %s", jarFile));
+    }
+
+    private static boolean endsWithClassSuffix(ByteBuffer directory, int nameStart, int nameLength) {
+        if (nameLength <= CLASS_SUFFIX.length) {
+            return false;
+        }
+        int suffixStart = nameStart + nameLength - CLASS_SUFFIX.length;
+        for (int i = 0; i < CLASS_SUFFIX.length; i++) {
+            if (directory.get(suffixStart + i) != CLASS_SUFFIX[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read the bytes at the position of the file, without moving the position of the channel so that the classes can
+     * be read concurrently
+     */
+    private static ByteBuffer read(FileChannel channel, long position, int length, File jarFile) throws IOException {
+        if (position < 0 || length < 0 || position + length > channel.size()) {
+            throw new ZipException(jarFile != null ? String.format("Invalid offset in the central directory: %s", jarFile) : "Invalid offset in the central directory");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new ZipException(jarFile != null ? String.format("Truncated jar: %s", jarFile) : "Truncated jar");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,173 @@
+package org.dep.util;
+
+import org.dep.model.ClassSummary;
+import org.dep.model.JarIndex;
+import org.dep.util.BinaryCacheFile.StringTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistent cache of the indexes of dependency jars. An index is stored under the hash of the content of its jar, so
+ * the same jar is only read once whichever project or folder it is used from. Hashing a jar still reads all of it, so
+ * the hash of every jar path is kept along with the size and modification time of the jar: while they are unchanged
+ * the jar is not opened at all.
+ */
+public class JarIndexCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JarIndexCache.class);
+    private static final int FORMAT_VERSION = 1;
+    private static final int MAGIC = 0x4A494458;
+    private static final String INDEX_FILE_EXTENSION = ".idx";
+    private static final String STAMP_FILE_EXTENSION = ".stamp";
+    // the index files and the stamp files share the header
+    private static final BinaryCacheFile FILES = new BinaryCacheFile(MAGIC, FORMAT_VERSION);
+
+    private final File cacheFolder;
+
+    public JarIndexCache(File cacheFolder) {
+        this.cacheFolder = cacheFolder;
+    }
+
+    /**
+     * Compute the cache key of the jar, the hash of its content. The hash recorded for the path of the jar is used when
+     * the size and modification time of the jar did not change since.
+     *
+     * @param jarFile the dependency jar
+     * @return the hash of the content of the jar
+     * @throws IOException exception thrown if the jar could not be read
+     */
+    public String computeKey(File jarFile) throws IOException {
+        File stampFile = new File(cacheFolder, hash(jarFile.getCanonicalPath().getBytes(StandardCharsets.UTF_8)) + STAMP_FILE_EXTENSION);
+        long size = jarFile.length();
+        long lastModified = jarFile.lastModified();
+        try {
+            String recordedKey = FILES.read(stampFile, in -> in.readLong() == size && in.readLong() == lastModified ? in.readUTF() : null);
+            if (recordedKey != null) {
+                return recordedKey;
+            }
+        } catch (IOException e) {
+            logger.warn(String.format("Ignoring the invalid stamp of the jar: %s", jarFile));
+        }
+
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[65536];
+        try (InputStream in = Files.newInputStream(jarFile.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        String key = HexFormat.of().formatHex(digest.digest());
+        try {
+            FILES.write(stampFile, out -> {
+                out.writeLong(size);
+                out.writeLong(lastModified);
+                out.writeUTF(key);
+            });
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to record the stamp of the jar: %s", jarFile));
+        }
+        return key;
+    }
+
+    /**
+     * Load the index stored for the key
+     *
+     * @param key the cache key of the jar
+     * @return the index of the jar or null if it is not in the cache
+     */
+    public JarIndex load(String key) {
+        File cacheFile = new File(cacheFolder, key + INDEX_FILE_EXTENSION);
+        try {
+            return FILES.read(cacheFile, in -> {
+                String[] strings = StringTable.read(in);
+                int classCount = in.readInt();
+                Set<String> classNames = new LinkedHashSet<>();
+                Map<String, ClassSummary> summaries = new HashMap<>();
+                for (int i = 0; i < classCount; i++) {
+                    String className = StringTable.readString(in, strings);
+                    classNames.add(className);
+                    if (in.readBoolean()) {
+                        summaries.put(className, new ClassSummary(
+                                StringTable.readString(in, strings),
+                                StringTable.readStrings(in, strings),
+                                StringTable.readStrings(in, strings),
+                                StringTable.readStrings(in, strings),
+                                StringTable.readStrings(in, strings)));
+                    }
+                }
+                return new JarIndex(classNames, summaries);
+            });
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to read the cached jar index: %s", cacheFile));
+            return null;
+        }
+    }
+
+    /**
+     * Store the index of a jar under the key. Every distinct string is only written once and the classes refer to it by
+     * its index.
+     *
+     * @param key      the cache key of the jar
+     * @param jarIndex the index of the jar with the summaries of its classes
+     */
+    public void store(String key, JarIndex jarIndex) {
+        StringTable strings = new StringTable();
+        for (String className : jarIndex.getClassNames()) {
+            strings.add(className);
+            ClassSummary summary = jarIndex.getSummary(className);
+            if (summary != null) {
+                strings.add(summary.getSuperclass());
+                strings.add(summary.getInterfaces());
+                strings.add(summary.getMethods());
+                strings.add(summary.getConstructors());
+                strings.add(summary.getFields());
+            }
+        }
+        try {
+            FILES.write(new File(cacheFolder, key + INDEX_FILE_EXTENSION), out -> {
+                strings.write(out);
+                out.writeInt(jarIndex.getClassNames().size());
+                for (String className : jarIndex.getClassNames()) {
+                    strings.writeString(out, className);
+                    ClassSummary summary = jarIndex.getSummary(className);
+                    out.writeBoolean(summary != null);
+                    if (summary != null) {
+                        strings.writeString(out, summary.getSuperclass());
+                        strings.writeStrings(out, summary.getInterfaces());
+                        strings.writeStrings(out, summary.getMethods());
+                        strings.writeStrings(out, summary.getConstructors());
+                        strings.writeStrings(out, summary.getFields());
+                    }
+                }
+            });
+        } catch (IOException e) {
+            logger.warn(String.format("Failed to cache the jar index in %s", cacheFolder));
+        }
+    }
+
+    private static String hash(byte[] value) {
+        return HexFormat.of().formatHex(newDigest().digest(value));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.dep.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+
+/**
+ * Locates the local Maven repository used by the Maven installation of the user
+ */
+public class MavenLocalRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenLocalRepository.class);
+    private static final String LOCAL_REPO_PROPERTY = "maven.repo.local";
+    private static final String USER_HOME = System.getProperty("user.home");
+
+    private static File location;
+
+    /**
+     * Get the local repository location, the {@code maven.repo.local} system property takes precedence over the
+     * location configured in the user settings.xml
+     *
+     * @return the local repository folder
+     */
+    public static synchronized File getLocation() {
+        if (location == null) {
+            String localRepository = System.getProperty(LOCAL_REPO_PROPERTY);
+            if (localRepository == null) {
+                localRepository = readLocalRepository(getUserSettings());
+            }
+            if (localRepository == null) {
+                location = new File(USER_HOME, ".m2" + File.separator + "repository");
+            } else {
+                location = new File(localRepository.replace("${user.home}", USER_HOME));
+            }
+        }
+        return location;
+    }
+
+    /**
+     * @return the settings.xml of the user, which may not exist
+     */
+    public static File getUserSettings() {
+        return new File(USER_HOME, ".m2" + File.separator + "settings.xml");
+    }
+
+    private static String readLocalRepository(File settings) {
+        if (!settings.exists()) {
+            return null;
+        }
+        try {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(settings);
+            NodeList localRepository = document.getElementsByTagName("localRepository");
+            if (localRepository.getLength() > 0 && !localRepository.item(0).getTextContent().isBlank()) {
+                return localRepository.item(0).getTextContent().trim();
+            }
+        } catch (Exception e) {
+            logger.warn(String.format("Failed to read the local repository from %s", settings));
+        }
+        return null;
+    }
+
+    /**
+     * Get the location of an artifact within the local repository
+     *
+     * @param groupId    the group id of the artifact
+     * @param artifactId the artifact id of the artifact
+     * @param version    the version of the artifact
+     * @param classifier the classifier of the artifact, which can be null
+     * @param extension  the file extension of the artifact
+     * @return the artifact file, which may not exist
+     */
+    public static File getArtifactFile(String groupId, String artifactId, String version, String classifier, String extension) {
+        StringBuilder fileName = new StringBuilder(artifactId).append("-").append(version);
+        if (classifier != null && !classifier.isEmpty()) {
+            fileName.append("-").append(classifier);
+        }
+        fileName.append(".").append(extension);
+        File artifactFolder = new File(getLocation(), groupId.replace('.', File.separatorChar) + File.separator + artifactId + File.separator + version);
+        return new File(artifactFolder, fileName.toString());
+    }
+}
@@ -2,14 +2,13 @@ package org.dep.util;
 
 import fr.dutra.tools.maven.deptree.core.Node;
 import org.apache.poi.ss.util.CellReference;
+import org.dep.analyzer.GraphAnalyzer;
 import org.dep.model.ColorStyleTracker;
+import org.dep.model.CompactTree;
 import org.dep.model.NodeStyle;
 import org.dep.model.Reference;
 import org.jgrapht.Graph;
-import org.jgrapht.GraphPath;
-import org.jgrapht.alg.shortestpath.AllDirectedPaths;
 import org.jgrapht.graph.DefaultEdge;
-import org.jgrapht.traverse.BreadthFirstIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,9 +16,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
 import java.util.Set;
-import java.util.HashSet;
 import java.util.stream.Collectors;
 
 public class MermaidFileGenerator {
@@ -32,105 +29,132 @@ public class MermaidFileGenerator {
      * @param removeTestDep      if the test dependencies excluded
      * @param showTransitiveFunc if transitive function details are displayed
      * @param hrefTransitiveMap  the href to the dependency table when displaying transitive details
+     * @param allUnMappedReferences references used by the client which could not be mapped to a dependency
      * @param containsConflicts  if conflicts exist with dependencies that are used by the client
      * @throws IOException exception thrown if graph is not generated
      */
-    public void exportToMermaid(Graph<Node, DefaultEdge> dependencyTree, Map<String, ColorStyleTracker> generateColors, boolean removeTestDep, boolean showTransitiveFunc, Map<Node, String> hrefTransitiveMap, Set<String> containsConflicts) throws IOException {
+    public void exportToMermaid(Graph<Node, DefaultEdge> dependencyTree, Map<String, ColorStyleTracker> generateColors, boolean removeTestDep, boolean showTransitiveFunc, Map<Node, String> hrefTransitiveMap, Map<String, Set<Reference>> allUnMappedReferences, Set<String> containsConflicts) throws IOException {
+        exportToMermaid(GraphAnalyzer.REPORT_FOLDER, dependencyTree, generateColors, removeTestDep, showTransitiveFunc, hrefTransitiveMap, allUnMappedReferences, containsConflicts);
+    }
+
+    /**
+     * Generate the graph in mermaid format from the passed dependency tree in the given report folder
+     *
+     * @param reportFolder       the folder in which the reports of the project are generated
+     * @param dependencyTree     all dependency details
+     * @param generateColors     colors generated for duplicate dependencies
+     * @param removeTestDep      if the test dependencies excluded
+     * @param showTransitiveFunc if transitive function details are displayed
+     * @param hrefTransitiveMap  the href to the dependency table when displaying transitive details
+     * @param allUnMappedReferences references used by the client which could not be mapped to a dependency
+     * @param containsConflicts  if conflicts exist with dependencies that are used by the client
+     * @throws IOException exception thrown if graph is not generated
+     */
+    public void exportToMermaid(String reportFolder, Graph<Node, DefaultEdge> dependencyTree, Map<String, ColorStyleTracker> generateColors, boolean removeTestDep, boolean showTransitiveFunc, Map<Node, String> hrefTransitiveMap, Map<String, Set<Reference>> allUnMappedReferences, Set<String> containsConflicts) throws IOException {
+        exportToMermaid(reportFolder, new CompactTree(dependencyTree), generateColors, removeTestDep, showTransitiveFunc, hrefTransitiveMap, allUnMappedReferences, containsConflicts);
+    }
+
+    /**
+     * Generate the graph in mermaid format from the compact copy of the dependency tree in the given report folder
+     *
+     * @param reportFolder       the folder in which the reports of the project are generated
+     * @param dependencyTree     all dependency details
+     * @param generateColors     colors generated for duplicate dependencies
+     * @param removeTestDep      if the test dependencies excluded
+     * @param showTransitiveFunc if transitive function details are displayed
+     * @param hrefTransitiveMap  the href to the dependency table when displaying transitive details
+     * @param allUnMappedReferences references used by the client which could not be mapped to a dependency
+     * @param containsConflicts  if conflicts exist with dependencies that are used by the client
+     * @throws IOException exception thrown if graph is not generated
+     */
+    public void exportToMermaid(String reportFolder, CompactTree dependencyTree, Map<String, ColorStyleTracker> generateColors, boolean removeTestDep, boolean showTransitiveFunc, Map<Node, String> hrefTransitiveMap, Map<String, Set<Reference>> allUnMappedReferences, Set<String> containsConflicts) throws IOException {
         String newLine = System.lineSeparator();
         StringBuilder mermaid = new StringBuilder("graph  LR;" + newLine);
         addLegendToGraph(mermaid, newLine);
-        Map<Node, String> nodeAliasMap = new HashMap<>();
+        // the alias of every node by its id, null for the excluded test dependencies
+        String[] aliases = new String[dependencyTree.size()];
         int index = 0;
-        Node rootNode = null;
-        String rootNodeName = null;
-        boolean isRootNode = false;
+        int rootNode = dependencyTree.getRoot();
+        String rootNodeName = dependencyTree.getNode(rootNode).getArtifactKey();
         StringBuilder warningMessage = new StringBuilder();
         // Assign aliases and declare node labels
-        for (Node node : dependencyTree.vertexSet()) {
-            if (dependencyTree.inDegreeOf(node) == 0) {
-                rootNode = node;
-                rootNodeName = node.getGroupId() + ":" + node.getArtifactId();
-                isRootNode = true;
-            }
-            if (removeTestDep && node.getScope() != null && node.getScope().equals("test")) {
+        for (int id = 0; id < dependencyTree.size(); id++) {
+            if (removeTestDep && dependencyTree.isTestScope(id)) {
                 continue;
             }
+            Node node = dependencyTree.getNode(id);
             String alias = CellReference.convertNumToColString(index);
-            nodeAliasMap.put(node, alias);
+            aliases[id] = alias;
             mermaid.append(alias)
-                    .append(formatDepName(node, generateColors, nodeAliasMap, isRootNode))
+                    .append(formatDepName(node, generateColors, alias, id == rootNode))
                     .append(newLine);
             index++;
-            isRootNode = false;
             constructWarningMsg(containsConflicts, warningMessage, node);
         }
-        BreadthFirstIterator<Node, DefaultEdge> iterator = new BreadthFirstIterator<>(dependencyTree);
-        Set<DefaultEdge> visitedEdges = new HashSet<>();
+        // every node has one incoming edge, so an edge is visited when its target is
+        boolean[] visitedEdges = new boolean[dependencyTree.size()];
+        // the nearest drawn ancestor of every node, the root is always drawn
+        int[] firstVisibleAncestor = new int[dependencyTree.size()];
+        for (int position = 0; position < dependencyTree.size(); position++) {
+            int id = dependencyTree.getBreadthFirst(position);
+            int parent = dependencyTree.getParent(id);
+            firstVisibleAncestor[id] = parent == CompactTree.NO_PARENT || aliases[parent] != null ? parent : firstVisibleAncestor[parent];
+        }
+        // the hidden nodes between a drawn node and its nearest drawn ancestor, reused for every edge
+        int[] hiddenPath = new int[dependencyTree.size()];
         List<Integer> linkNumbers = new ArrayList<>();
         // The edge is starting at 3 since edges were used to display the legend
         int counterForEdges = 3;
         // keep track of the initial node to link transitive dependencies
 
-        while (iterator.hasNext()) {
-            Node node = iterator.next();
-            // Iterate through edges connected to this vertex
-            for (DefaultEdge edge : dependencyTree.edgesOf(node)) {
-                if (!visitedEdges.contains(edge)) {
-                    Node source = dependencyTree.getEdgeSource(edge);
-                    Node target = dependencyTree.getEdgeTarget(edge);
-                    if (removeTestDep && target.getScope() != null && target.getScope().equals("test")) {
-                        continue;
-                    }
-                    visitedEdges.add(edge);
-                    String srcAlias = nodeAliasMap.get(source);
-                    String tgtAlias = nodeAliasMap.get(target);
-                    // Need to handle scope updated from test when test scope is omitted
-                    if (srcAlias == null) {
-                        AllDirectedPaths<Node, DefaultEdge> allPaths =
-                                new AllDirectedPaths<>(dependencyTree);
-                        List<GraphPath<Node, DefaultEdge>> paths =
-                                allPaths.getAllPaths(rootNode, target, true, null);
-                        // add the node connections to the graph and alias map, need to check if its only one path available. then get the first name
-                        for (GraphPath<Node, DefaultEdge> graphPath : paths) {
-                            for (DefaultEdge defaultEdge : graphPath.getEdgeList()) {
-                                if (visitedEdges.contains(defaultEdge)) {
-                                    continue;
-                                }
-                                visitedEdges.add(defaultEdge);
-                                Node parentNode = dependencyTree.getEdgeSource(defaultEdge);
-                                Node childNode = dependencyTree.getEdgeTarget(defaultEdge);
-                                // Add the node links to the graph except last node which will be added in the next step
-                                if (!target.equals(childNode)) {
-                                    mermaid.append("\t").append(nodeAliasMap.get(parentNode));
-                                    if (childNode.getScope() != null && "test".equals(childNode.getScope())) {
-                                        mermaid.append(" -. test .-> ");
-                                    } else {
-                                        mermaid.append(" --> ");
-                                    }
-                                    mermaid.append(nodeAliasMap.get(childNode)).append(newLine);
-                                    ++counterForEdges;
-                                }
-                            }
-                        }
-                        srcAlias = nodeAliasMap.get(source);
-                    }
-                    mermaid.append("\t").append(srcAlias);
-
-                    if (target.getScope() != null && "test".equals(target.getScope())) {
+        // the edges in the breadth first order of their targets
+        for (int position = 1; position < dependencyTree.size(); position++) {
+            int target = dependencyTree.getBreadthFirst(position);
+            int source = dependencyTree.getParent(target);
+            if (visitedEdges[target] || (removeTestDep && dependencyTree.isTestScope(target))) {
+                continue;
+            }
+            visitedEdges[target] = true;
+            String srcAlias = aliases[source];
+            String tgtAlias = aliases[target];
+            // Need to handle scope updated from test when test scope is omitted
+            if (srcAlias == null) {
+                // add the node connections from the nearest drawn ancestor to the graph, except the last node which
+                // will be added in the next step. The edges above a drawn edge were drawn before it, so the walk
+                // stops at the first one and every edge is only walked once.
+                int length = 0;
+                for (int id = source; id != firstVisibleAncestor[target] && !visitedEdges[id]; id = dependencyTree.getParent(id)) {
+                    hiddenPath[length++] = id;
+                }
+                for (int step = length - 1; step >= 0; step--) {
+                    int childNode = hiddenPath[step];
+                    visitedEdges[childNode] = true;
+                    mermaid.append("\t").append(aliases[dependencyTree.getParent(childNode)]);
+                    if (dependencyTree.isTestScope(childNode)) {
                         mermaid.append(" -. test .-> ");
                     } else {
                         mermaid.append(" --> ");
                     }
-                    mermaid.append(tgtAlias).append(newLine);
-
+                    mermaid.append(aliases[childNode]).append(newLine);
                     ++counterForEdges;
-                    if (target.getDepLevel() > 1 && !target.getReferences().isEmpty()) {
-                        includeTransitiveReference(rootNode, target, mermaid, showTransitiveFunc, nodeAliasMap, hrefTransitiveMap);
-                        linkNumbers.add(counterForEdges);
-                        ++counterForEdges;
-                    }
                 }
             }
+            mermaid.append("\t").append(srcAlias);
+
+            if (dependencyTree.isTestScope(target)) {
+                mermaid.append(" -. test .-> ");
+            } else {
+                mermaid.append(" --> ");
+            }
+            mermaid.append(tgtAlias).append(newLine);
+
+            ++counterForEdges;
+            Node targetNode = dependencyTree.getNode(target);
+            if (targetNode.getDepLevel() > 1 && !targetNode.getReferences().isEmpty()) {
+                includeTransitiveReference(aliases[rootNode], targetNode, tgtAlias, mermaid, showTransitiveFunc, hrefTransitiveMap);
+                linkNumbers.add(counterForEdges);
+                ++counterForEdges;
+            }
         }
         // append link style to the graph
         appendColorsToGraph(generateColors, newLine, mermaid);
@@ -138,7 +162,7 @@ public class MermaidFileGenerator {
         appendWarningMsg(newLine, mermaid, index, warningMessage);
 
         // generate HTML file
-        HTMLReport.generateMermaidGraphHTML(mermaid.toString(), rootNodeName);
+        HTMLReport.generateMermaidGraphHTML(reportFolder, mermaid.toString(), rootNodeName);
     }
 
     private static int appendWarningMsg(String newLine, StringBuilder mermaid, int index, StringBuilder warningMessage) {
@@ -152,12 +176,12 @@ public class MermaidFileGenerator {
     }
 
     private static void constructWarningMsg(Set<String> containsConflicts, StringBuilder warningMessage, Node node) {
-        if (containsConflicts.contains(node.getGroupId() + ":" + node.getArtifactId()) && !node.getReferences().isEmpty()) {
+        if (containsConflicts.contains(node.getArtifactKey()) && !node.getReferences().isEmpty()) {
             if (warningMessage.isEmpty()) {
                 warningMessage.append("⚠\uFE0F Version conflict(s) detected in used dependency(ies):")
-                        .append("\n").append(node.getGroupId()).append(":").append(node.getArtifactId());
+                        .append("\n").append(node.getArtifactKey());
             } else {
-                warningMessage.append(",\n ").append(node.getGroupId()).append(":").append(node.getArtifactId());
+                warningMessage.append(",\n ").append(node.getArtifactKey());
             }
         }
     }
@@ -182,8 +206,8 @@ public class MermaidFileGenerator {
                 .append(" end").append(lineSeparator);
     }
 
-    private String formatDepName(Node node, Map<String, ColorStyleTracker> generateColors, Map<Node, String> nodeAliasMap, boolean isRootNode) {
-        String depName = String.format("%s:%s", node.getGroupId(), node.getArtifactId());
+    private String formatDepName(Node node, Map<String, ColorStyleTracker> generateColors, String nodeAlias, boolean isRootNode) {
+        String depName = node.getArtifactKey();
 
         if (generateColors.containsKey(depName)) {
             String prefix = "";
@@ -193,7 +217,7 @@ public class MermaidFileGenerator {
                 prefix = colorStyleTracker.getNodeStyles().get(node).getIcon();
             } else {
                 NodeStyle nodeStyle = new NodeStyle();
-                nodeStyle.setNodeAlias(nodeAliasMap.get(node));
+                nodeStyle.setNodeAlias(nodeAlias);
                 if (!node.isOmitted()) {
                     if (colorStyleTracker.getIndexAssigned() == 0) {
                         colorStyleTracker.setIndexAssigned(colorStyleTracker.getIndexAssigned() + 1);
@@ -212,7 +236,7 @@ public class MermaidFileGenerator {
                     }
                     nodeStyle.setColor(colorStyleTracker.getGeneratedColors().get(currentIndex));
                     colorStyleTracker.setIndexAssigned(currentIndex + 1);
-                    if (node.getDescription() != null && node.getDescription().contains("conflict with")) {
+                    if (node.isConflict()) {
                         prefix = "<b><span style='color:red'>#10006;</span></b>";
                         nodeStyle.setStyle("stroke:#ed1b0c,stroke-width:10px,stroke-dasharray: 5 5");
                         nodeStyle.setIcon(prefix);
@@ -242,11 +266,9 @@ public class MermaidFileGenerator {
         }
     }
 
-    private void includeTransitiveReference(Node rootNode, Node transitiveDep, StringBuilder mermaid, boolean showTransitiveFunc, Map<Node, String> nodeAliasMap, Map<Node, String> hrefTransitiveMap) {
+    private void includeTransitiveReference(String srcAlias, Node transitiveDep, String tgtAlias, StringBuilder mermaid, boolean showTransitiveFunc, Map<Node, String> hrefTransitiveMap) {
         String newLine = System.lineSeparator();
         // get the references used and display it on the node edge
-        String srcAlias = nodeAliasMap.get(rootNode);
-        String tgtAlias = nodeAliasMap.get(transitiveDep);
         mermaid
                 .append("\t")
                 .append(srcAlias);
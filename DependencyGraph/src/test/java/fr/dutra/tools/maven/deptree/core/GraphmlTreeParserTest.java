@@ -0,0 +1,20 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+public class GraphmlTreeParserTest {
+
+    @Test
+    public void testParseLikeText() throws ParseException, IOException {
+        Graph<Node, DefaultEdge> textTree = JsonTreeParserTest.parseResource(InputType.TEXT, "dependencytree/deptree2.txt");
+        Graph<Node, DefaultEdge> graphmlTree = JsonTreeParserTest.parseResource(InputType.GRAPHML, "dependencytree/deptree2.graphml");
+
+        // the edges of the root are written after its subtrees, the children still keep the order of the tree
+        Assertions.assertEquals(JsonTreeParserTest.describe(textTree), JsonTreeParserTest.describe(graphmlTree));
+    }
+}
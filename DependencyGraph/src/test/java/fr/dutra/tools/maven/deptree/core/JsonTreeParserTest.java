@@ -0,0 +1,76 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class JsonTreeParserTest {
+
+    @Test
+    public void testParseLikeText() throws ParseException, IOException {
+        Graph<Node, DefaultEdge> textTree = parseResource(InputType.TEXT, "dependencytree/deptree2.txt");
+        Graph<Node, DefaultEdge> jsonTree = parseResource(InputType.JSON, "dependencytree/deptree2.json");
+
+        Assertions.assertEquals(describe(textTree), describe(jsonTree));
+        Node omitted = jsonTree.vertexSet().stream().filter(Node::isOmitted).findFirst().orElseThrow();
+        Assertions.assertEquals("org.apache.commons:commons-lang3:3.14.0", omitted.getDependencyName());
+        Assertions.assertEquals("omitted for conflict with 3.12.0", omitted.getDescription());
+    }
+
+    @Test
+    public void testParseForest() throws ParseException {
+        String forest = String.join("\n",
+                "{\"groupId\": \"org.example\", \"artifactId\": \"module-a\", \"version\": \"1.0\", \"type\": \"jar\", \"scope\": \"\",",
+                " \"children\": [{\"groupId\": \"commons-io\", \"artifactId\": \"commons-io\", \"version\": \"2.0.1\", \"type\": \"jar\", \"scope\": \"compile\"},",
+                "  {\"groupId\": \"org.apache.velocity\", \"artifactId\": \"velocity\", \"version\": \"1.6.4\", \"type\": \"jar\", \"scope\": \"compile\",",
+                "   \"children\": [{\"groupId\": \"commons-io\", \"artifactId\": \"commons-io\", \"version\": \"2.0.1\", \"type\": \"jar\", \"scope\": \"compile\"}]}]}",
+                "{\"groupId\": \"org.example\", \"artifactId\": \"module-b\", \"version\": \"1.0\", \"type\": \"jar\", \"scope\": \"\"}");
+        List<Graph<Node, DefaultEdge>> trees = new JsonTreeParser().parseForest(new StringReader(forest));
+
+        Assertions.assertEquals(2, trees.size());
+        Assertions.assertEquals(4, trees.get(0).vertexSet().size());
+        Node duplicate = trees.get(0).vertexSet().stream().filter(Node::isOmitted).findFirst().orElseThrow();
+        Assertions.assertEquals(2, duplicate.getDepLevel());
+        Assertions.assertEquals("omitted for duplicate", duplicate.getDescription());
+        Assertions.assertEquals(1, trees.get(1).vertexSet().size());
+        Assertions.assertTrue(new JsonTreeParser().parseForest(new StringReader("")).isEmpty());
+    }
+
+    @Test
+    public void testClassifiersSelectedSeparately() throws ParseException, IOException {
+        Graph<Node, DefaultEdge> tree = parseResource(InputType.JSON, "dependencytree/deptree-classifiers.json");
+
+        Assertions.assertEquals(5, tree.vertexSet().size());
+        // both native artifacts are kept, only the other version of the same classifier is omitted
+        List<Node> omitted = tree.vertexSet().stream().filter(Node::isOmitted).toList();
+        Assertions.assertEquals(1, omitted.size());
+        Assertions.assertEquals("linux-x86_64", omitted.get(0).getClassifier());
+        Assertions.assertEquals("4.1.93.Final", omitted.get(0).getVersion());
+        Assertions.assertEquals("omitted for conflict with 4.1.100.Final", omitted.get(0).getDescription());
+        Assertions.assertEquals(List.of("linux-x86_64", "linux-aarch_64"), tree.vertexSet().stream()
+                .filter(node -> node.getDepLevel() == 1 && node.getClassifier() != null).map(Node::getClassifier).toList());
+    }
+
+    static Graph<Node, DefaultEdge> parseResource(InputType type, String resource) throws ParseException, IOException {
+        try (Reader reader = new InputStreamReader(JsonTreeParserTest.class.getClassLoader().getResourceAsStream(resource), StandardCharsets.UTF_8)) {
+            return type.newParser().parse(reader);
+        }
+    }
+
+    /**
+     * Lists the nodes in the order of the tree along with their parents
+     */
+    static List<String> describe(Graph<Node, DefaultEdge> tree) {
+        return tree.vertexSet().stream().map(node -> String.format("%s %s %s %d %s %s <- %s", node.getDependencyName(),
+                node.getPackaging(), node.getScope(), node.getDepLevel(), node.isOmitted(), node.getDescription(),
+                tree.incomingEdgesOf(node).stream().map(tree::getEdgeSource).map(Node::getDependencyName).toList())).toList();
+    }
+}
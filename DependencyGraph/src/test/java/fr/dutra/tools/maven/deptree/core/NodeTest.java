@@ -0,0 +1,39 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class NodeTest {
+
+    @Test
+    public void testIdentity() {
+        Node node = new Node("commons-io", "commons-io", "jar", null, "2.0.1", "compile", null, 1, false);
+        Node sameCoordinate = new Node("commons-io", "commons-io", "jar", null, "2.0.1", "compile", null, 1, false);
+        Set<Node> nodes = new HashSet<>(List.of(node));
+        int hash = node.hashCode();
+
+        Assertions.assertNotEquals(node, sameCoordinate);
+        Assertions.assertNotEquals(node, node.clone());
+        // the identity does not depend on the children added afterwards
+        node.addChildNode(sameCoordinate);
+        Assertions.assertEquals(hash, node.hashCode());
+        Assertions.assertTrue(nodes.contains(node));
+    }
+
+    @Test
+    public void testNodeIdsFollowTheTree() throws ParseException {
+        String tree = String.join("\n",
+                "org.example:app:jar:1.0",
+                "+- commons-io:commons-io:jar:2.0.1:compile",
+                "\\- junit:junit:jar:4.8.2:test");
+        List<Node> nodes = List.copyOf(new TextParser().parse(new StringReader(tree)).vertexSet());
+
+        Assertions.assertTrue(nodes.get(0).getNodeId() < nodes.get(1).getNodeId());
+        Assertions.assertTrue(nodes.get(1).getNodeId() < nodes.get(2).getNodeId());
+    }
+}
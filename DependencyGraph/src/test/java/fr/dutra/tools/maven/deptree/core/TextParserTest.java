@@ -0,0 +1,124 @@
+package fr.dutra.tools.maven.deptree.core;
+
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+public class TextParserTest {
+
+    @Test
+    public void testParseTree() throws ParseException {
+        String tree = String.join("\n",
+                "org.example:app:jar:1.0",
+                "+- commons-io:commons-io:jar:2.0.1:compile",
+                "+- org.apache.velocity:velocity:jar:1.6.4:compile",
+                "|  +- commons-collections:commons-collections:jar:3.2.1:compile",
+                "|  \\- (commons-io:commons-io:jar:2.0.1:compile - omitted for duplicate)",
+                "",
+                "\\- junit:junit:jar:4.8.2:test",
+                "   \\- org.hamcrest:hamcrest-core:jar:1.1:test");
+        Graph<Node, DefaultEdge> graph = new TextParser().parse(new StringReader(tree));
+
+        Assertions.assertEquals(7, graph.vertexSet().size());
+        Node root = findNode(graph, "app");
+        Assertions.assertEquals(List.of("commons-io", "velocity", "junit"),
+                Graphs.successorListOf(graph, root).stream().map(Node::getArtifactId).toList());
+        Node velocity = findNode(graph, "velocity");
+        Assertions.assertEquals(2, Graphs.successorListOf(graph, velocity).size());
+        Assertions.assertTrue(Graphs.successorListOf(graph, velocity).get(1).isOmitted());
+        Assertions.assertEquals(2, findNode(graph, "hamcrest-core").getDepLevel());
+    }
+
+    @Test
+    public void testNodesShareCoordinates() throws ParseException {
+        String tree = String.join("\n",
+                "org.example:app:jar:1.0",
+                "+- commons-io:commons-io:jar:2.0.1:compile",
+                "\\- org.apache.velocity:velocity:jar:1.6.4:compile",
+                "   +- (commons-io:commons-io:jar:2.0.1:compile - omitted for duplicate)",
+                "   \\- (commons-io:commons-io:jar:1.4:compile - omitted for conflict with 2.0.1)");
+        List<Node> commonsIo = new TextParser().parse(new StringReader(tree)).vertexSet().stream()
+                .filter(node -> node.getArtifactId().equals("commons-io")).toList();
+
+        Assertions.assertEquals(3, commonsIo.size());
+        Assertions.assertSame(commonsIo.get(0).getCoordinate(), commonsIo.get(1).getCoordinate());
+        Assertions.assertNotSame(commonsIo.get(0).getCoordinate(), commonsIo.get(2).getCoordinate());
+        // every version of the artifact shares the artifact key
+        Assertions.assertSame(commonsIo.get(0).getArtifactKey(), commonsIo.get(2).getArtifactKey());
+        Assertions.assertEquals("commons-io:commons-io:1.4", commonsIo.get(2).getDependencyName());
+        Assertions.assertEquals("omitted for conflict with 2.0.1", commonsIo.get(2).getDescription());
+    }
+
+    @Test
+    public void testDecodeOmissions() throws ParseException {
+        String tree = String.join("\n",
+                "org.example:app:jar:1.0",
+                "+- commons-io:commons-io:jar:2.0.1:compile (version managed from 1.4)",
+                "\\- org.apache.velocity:velocity:jar:1.6.4:compile",
+                "   +- (commons-io:commons-io:jar:2.0.1:compile - version managed from 1.3; omitted for duplicate)",
+                "   +- (commons-io:commons-io:jar:1.4:compile - omitted for conflict with 2.0.1)",
+                "   \\- (org.example:app:jar:1.0:compile - omitted for cycle)");
+        List<Node> nodes = List.copyOf(new TextParser().parse(new StringReader(tree)).vertexSet());
+
+        Assertions.assertNull(nodes.get(1).getOmissionReason());
+        Assertions.assertEquals("1.4", nodes.get(1).getManagedFromVersion());
+        Assertions.assertEquals(OmissionReason.DUPLICATE, nodes.get(3).getOmissionReason());
+        Assertions.assertEquals("1.3", nodes.get(3).getManagedFromVersion());
+        Assertions.assertEquals("2.0.1", nodes.get(3).getWinningVersion());
+        Assertions.assertTrue(nodes.get(4).isConflict());
+        Assertions.assertEquals("2.0.1", nodes.get(4).getWinningVersion());
+        Assertions.assertEquals(OmissionReason.CYCLE, nodes.get(5).getOmissionReason());
+    }
+
+    @Test
+    public void testParseDeepTree() throws ParseException {
+        int depth = 3000;
+        StringBuilder tree = new StringBuilder("org.example:level:jar:0\n");
+        StringBuilder indent = new StringBuilder();
+        for (int level = 1; level < depth; level++) {
+            tree.append(indent).append("\\- org.example:level:jar:").append(level).append(":compile\n");
+            indent.append("   ");
+        }
+        Graph<Node, DefaultEdge> graph = new TextParser().parse(new StringReader(tree.toString()));
+
+        Assertions.assertEquals(depth, graph.vertexSet().size());
+        Assertions.assertEquals(depth - 1, graph.vertexSet().stream().mapToInt(Node::getDepLevel).max().getAsInt());
+    }
+
+    @Test
+    public void testParseForest() throws ParseException {
+        String output = String.join("\n",
+                "org.example:reactor:pom:1.0",
+                "org.example:module-a:jar:1.0",
+                "\\- org.apache.commons:commons-lang3:jar:3.17.0:compile",
+                "org.example:module-b:jar:1.0",
+                "+- org.apache.commons:commons-lang3:jar:3.17.0:compile",
+                "\\- org.slf4j:slf4j-api:jar:2.0.16:compile");
+        List<Graph<Node, DefaultEdge>> forest = new TextParser().parseForest(new StringReader(output));
+
+        Assertions.assertEquals(3, forest.size());
+        Assertions.assertEquals(List.of(1, 2, 3), forest.stream().map(tree -> tree.vertexSet().size()).toList());
+        Node moduleB = findNode(forest.get(2), "module-b");
+        Assertions.assertEquals(0, moduleB.getDepLevel());
+        Assertions.assertEquals(2, Graphs.successorListOf(forest.get(2), moduleB).size());
+        // the modules share the coordinate of the same dependency
+        Assertions.assertSame(findNode(forest.get(1), "commons-lang3").getCoordinate(), findNode(forest.get(2), "commons-lang3").getCoordinate());
+        // the first tree only when the output is parsed as a single tree
+        Assertions.assertEquals(1, new TextParser().parse(new StringReader(output)).vertexSet().size());
+    }
+
+    @Test
+    public void testParseEmptyTree() throws ParseException {
+        Assertions.assertNull(new TextParser().parse(new StringReader("")));
+        Assertions.assertTrue(new TextParser().parseForest(new StringReader("")).isEmpty());
+    }
+
+    private static Node findNode(Graph<Node, DefaultEdge> graph, String artifactId) {
+        return graph.vertexSet().stream().filter(node -> node.getArtifactId().equals(artifactId)).findFirst().orElseThrow();
+    }
+}
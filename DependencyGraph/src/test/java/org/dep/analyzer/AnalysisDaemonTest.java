@@ -0,0 +1,66 @@
+package org.dep.analyzer;
+
+import org.dep.util.HTMLReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+
+public class AnalysisDaemonTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void testForwardWithoutDaemon() throws IOException {
+        Assertions.assertNull(DaemonClient.forward(new File(tempDir, "daemon.port"), tempDir, new String[]{"-input", "pom.xml"}));
+    }
+
+    @Test
+    public void testAnalyzeOnDaemon() throws IOException {
+        URL reactorPom = getClass().getClassLoader().getResource("ReactorTest/pom.xml");
+        File reactorDir = new File(reactorPom.getFile()).getParentFile();
+        File portFile = new File(tempDir, "daemon/daemon.port");
+        File reportFolder = new File(tempDir, "report");
+        AnalysisDaemon daemon = new AnalysisDaemon(new GraphAnalyzer(), portFile);
+        daemon.start();
+        try {
+            Assertions.assertTrue(portFile.exists());
+            // the token is only readable by the user
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Assertions.assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(portFile.toPath())));
+                Assertions.assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(portFile.getParentFile().toPath())));
+            }
+
+            IOException invalid = Assertions.assertThrows(IOException.class,
+                    () -> DaemonClient.forward(portFile, reactorDir, new String[]{"-input", "module-a/pom.xml", "-buildMode", "unknown"}));
+            Assertions.assertTrue(invalid.getMessage().contains("400"));
+
+            // the relative input is resolved against the working directory of the client
+            List<String> results = DaemonClient.forward(portFile, reactorDir, new String[]{"-input", "module-a/pom.xml",
+                    "-outputFolder", reportFolder.getAbsolutePath(), "-singleMavenInvocation", "true", "-indexJarsInPlace", "true"});
+            Assertions.assertEquals(1, results.size());
+            Assertions.assertTrue(results.get(0).startsWith("OK org.example:module-a"), results.get(0));
+            Assertions.assertTrue(Files.exists(new File(reportFolder, HTMLReport.DEP_DETAILS_HTML).toPath()));
+
+            File forgedPortFile = new File(tempDir, "forged.port");
+            Files.writeString(forgedPortFile.toPath(), daemon.getPort() + "\nforged\n");
+            IOException forbidden = Assertions.assertThrows(IOException.class,
+                    () -> DaemonClient.forward(forgedPortFile, reactorDir, new String[]{"-input", "module-a/pom.xml"}));
+            Assertions.assertTrue(forbidden.getMessage().contains("403"));
+
+            Assertions.assertTrue(DaemonClient.shutdown(portFile));
+            daemon.awaitShutdown();
+            Assertions.assertFalse(portFile.exists());
+        } finally {
+            daemon.stop();
+        }
+    }
+}
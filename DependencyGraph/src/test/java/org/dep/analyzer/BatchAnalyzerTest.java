@@ -0,0 +1,121 @@
+package org.dep.analyzer;
+
+import org.dep.model.AnalysisConfig;
+import org.dep.model.AnalysisSummary;
+import org.dep.util.CommandExecutor;
+import org.dep.util.CommandMonitor;
+import org.dep.util.HTMLReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchAnalyzerTest {
+
+    @Test
+    public void testReadPomList(@TempDir File listDir) throws IOException {
+        URL reactorPom = getClass().getClassLoader().getResource("ReactorTest/pom.xml");
+        File reactorDir = new File(reactorPom.getFile()).getParentFile();
+        File pomList = new File(listDir, "projects.txt");
+        Files.writeString(pomList.toPath(), String.join(System.lineSeparator(),
+                "# projects to analyze",
+                new File(reactorDir, "module-a/pom.xml").getAbsolutePath(),
+                "",
+                new File(reactorDir, "module-b").getAbsolutePath(),
+                new File(reactorDir, "missing/pom.xml").getAbsolutePath()));
+
+        List<File> projectPoms = BatchAnalyzer.readPomList(pomList);
+        Assertions.assertEquals(2, projectPoms.size());
+        Assertions.assertEquals(new File(reactorDir, "module-a/pom.xml").getAbsoluteFile(), projectPoms.get(0));
+        Assertions.assertEquals(new File(reactorDir, "module-b/pom.xml").getAbsoluteFile(), projectPoms.get(1));
+    }
+
+    @Test
+    public void testAnalyzeBatch(@TempDir File reportFolder) throws IOException {
+        URL reactorPom = getClass().getClassLoader().getResource("ReactorTest/pom.xml");
+        File reactorDir = new File(reactorPom.getFile()).getParentFile();
+        File pomList = new File(reportFolder, "projects.txt");
+        Files.writeString(pomList.toPath(), String.join(System.lineSeparator(),
+                new File(reactorDir, "module-b/pom.xml").getAbsolutePath(),
+                new File(reactorDir, "module-a/pom.xml").getAbsolutePath()));
+        AnalysisConfig config = new AnalysisConfig();
+        config.setReportFolder(reportFolder.getPath());
+        config.setSingleMavenInvocation(true);
+        config.setIndexJarsInPlace(true);
+        config.setWorkers(2);
+        config.setMavenProcesses(1);
+        List<AnalysisSummary> summaries = new BatchAnalyzer(new GraphAnalyzer()).analyze(pomList, config);
+
+        Assertions.assertEquals(2, summaries.size());
+        // the limit of the Maven builds does not outlive the run
+        Assertions.assertNull(config.getCommandPermits());
+        for (AnalysisSummary summary : summaries) {
+            Assertions.assertFalse(summary.isFailed(), summary.getError());
+            Assertions.assertTrue(Files.exists(new File(summary.getReportFolder(), HTMLReport.DEP_DETAILS_HTML).toPath()));
+        }
+        // the summaries keep the order of the list
+        Assertions.assertEquals("org.example:module-b", summaries.get(0).getProjectName());
+        Assertions.assertEquals("org.example:module-a", summaries.get(1).getProjectName());
+
+        String aggregateReport = Files.readString(new File(reportFolder, HTMLReport.BATCH_SUMMARY_HTML).toPath());
+        Assertions.assertTrue(aggregateReport.contains("module-b/" + HTMLReport.DEP_DETAILS_HTML));
+        Assertions.assertTrue(aggregateReport.contains("org.apache.commons:commons-lang3"));
+        Assertions.assertTrue(Files.exists(new File(reportFolder, BatchAnalyzer.BATCH_SUMMARY_CSV).toPath()));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    public void testWorkersLimitAnalysesInFlight(@TempDir File reportFolder) throws IOException {
+        List<String> projectPoms = new ArrayList<>();
+        for (int project = 0; project < 6; project++) {
+            File projectDir = new File(reportFolder, "project-" + project);
+            Files.createDirectories(projectDir.toPath());
+            Files.writeString(new File(projectDir, "pom.xml").toPath(), "<project/>");
+            projectPoms.add(projectDir.getAbsolutePath());
+        }
+        File pomList = new File(reportFolder, "projects.txt");
+        Files.writeString(pomList.toPath(), String.join(System.lineSeparator(), projectPoms));
+        AnalysisConfig config = new AnalysisConfig();
+        config.setReportFolder(new File(reportFolder, "reports").getPath());
+        config.setWorkers(3);
+        config.setMavenProcesses(1);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        GraphAnalyzer graphAnalyzer = new GraphAnalyzer() {
+            @Override
+            public AnalysisSummary analyze(File projectPom, AnalysisConfig projectConfig, AnalysisCache cache) throws IOException {
+                peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    // the build of each project waits for the single permit of the run
+                    CommandExecutor.executeCommand("sleep 0.2", projectPom.getParentFile(),
+                            new CommandMonitor(Duration.ofSeconds(30)), projectConfig.getCommandPermits());
+                    AnalysisSummary summary = new AnalysisSummary();
+                    summary.setProjectPom(projectPom);
+                    summary.setProjectName(projectPom.getParentFile().getName());
+                    summary.setReportFolder(projectConfig.getReportFolder());
+                    summary.setResolvedVersions(Map.of());
+                    return summary;
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        };
+        List<AnalysisSummary> summaries = new BatchAnalyzer(graphAnalyzer).analyze(pomList, config);
+
+        Assertions.assertEquals(6, summaries.size());
+        // the projects waiting for a build hold their worker, no other project is started meanwhile
+        Assertions.assertEquals(3, peak.get());
+    }
+}
@@ -1,22 +1,32 @@
 package org.dep.analyzer;
 
 import fr.dutra.tools.maven.deptree.core.Node;
+import fr.dutra.tools.maven.deptree.core.ParseException;
+import fr.dutra.tools.maven.deptree.core.TextParser;
 import javassist.NotFoundException;
 import javassist.bytecode.BadBytecode;
+import org.dep.model.AnalysisConfig;
 import org.dep.model.Reference;
+import org.dep.util.MavenLocalRepository;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 import org.jgrapht.traverse.BreadthFirstIterator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
 
 public class DepUsageTest {
 
@@ -54,4 +64,105 @@ public class DepUsageTest {
         Assertions.assertTrue(references.stream().anyMatch(ref -> ref.getName().contains("debug(Ljava/lang/String;)V")));
         Assertions.assertTrue(references.stream().anyMatch(ref -> ref.getName().contains("error(Ljava/lang/String;Ljava/lang/Throwable;)V")));
     }
+
+    @Test
+    public void testExtractDepUsageWithJarsInPlace(@TempDir File jarCacheFolder) throws NotFoundException, IOException, BadBytecode, URISyntaxException {
+        String mvnCmd = "mvn";
+        String os = System.getProperty("os.name").toLowerCase();
+        if (os.contains("win")) {
+            mvnCmd = "mvn.cmd"; // Windows command
+        }
+
+        GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
+        URL testProject = getClass().getClassLoader().getResource("DependencyAuditTest");
+
+        Graph<Node, DefaultEdge> dependencyTree = graphAnalyzer.extractDependencyTree(new File(testProject.getFile()));
+        Map<String, Set<Reference>> allUnMappedReferences = new HashMap<>();
+        AnalysisConfig config = new AnalysisConfig();
+        config.setIndexJarsInPlace(true);
+        config.setJarCacheFolder(jarCacheFolder);
+        DepUsage depUsage = new DepUsage(config);
+        depUsage.extractDepUsage(dependencyTree, new File(testProject.getFile()), mvnCmd, allUnMappedReferences);
+
+        Node matchedNode = dependencyTree.vertexSet().stream()
+                .filter(dependency -> dependency.getDependencyName().equals("org.slf4j:slf4j-api:2.0.16"))
+                .findFirst().orElseThrow();
+        // the jar is read from the local repository instead of a copy within the project
+        Assertions.assertTrue(matchedNode.getJarName().startsWith(MavenLocalRepository.getLocation().getAbsolutePath()));
+        Assertions.assertEquals(2, matchedNode.getReferences().size());
+        Assertions.assertEquals(3, matchedNode.getReferences().get("org.slf4j.Logger").size());
+        // the references were mapped with the class summaries of the cached jar indexes
+        Assertions.assertTrue(jarCacheFolder.list((folder, name) -> name.endsWith(".idx")).length > 0);
+
+        // the index is the same whether the jars are read by one or several workers
+        config.setIndexWorkers(1);
+        Map<String, List<Node>> sequentialIndex = new DepUsage(config).indexDependencyClasses(dependencyTree, new File(testProject.getFile()));
+        config.setIndexWorkers(4);
+        Map<String, List<Node>> parallelIndex = new DepUsage(config).indexDependencyClasses(dependencyTree, new File(testProject.getFile()));
+        Assertions.assertFalse(sequentialIndex.isEmpty());
+        Assertions.assertEquals(sequentialIndex, parallelIndex);
+        Assertions.assertTrue(matchedNode.getClassCount() > 0);
+    }
+
+    @Test
+    public void testExtractDepUsageWithoutTestScope() throws NotFoundException, IOException, BadBytecode, URISyntaxException {
+        String mvnCmd = "mvn";
+        String os = System.getProperty("os.name").toLowerCase();
+        if (os.contains("win")) {
+            mvnCmd = "mvn.cmd"; // Windows command
+        }
+
+        GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
+        URL testProject = getClass().getClassLoader().getResource("DependencyAuditTest");
+
+        Graph<Node, DefaultEdge> dependencyTree = graphAnalyzer.extractDependencyTree(new File(testProject.getFile()));
+        Map<String, Set<Reference>> allUnMappedReferences = new HashMap<>();
+        AnalysisConfig config = new AnalysisConfig();
+        config.setExcludeTestScope(true);
+        config.setIndexJarsInPlace(true);
+        DepUsage depUsage = new DepUsage(config);
+        depUsage.extractDepUsage(dependencyTree, new File(testProject.getFile()), mvnCmd, allUnMappedReferences);
+
+        // the tests are neither compiled nor analyzed, and their dependencies are not indexed
+        Assertions.assertFalse(new File(testProject.getFile(), "target/test-classes").exists());
+        Assertions.assertTrue(dependencyTree.vertexSet().stream()
+                .filter(dependency -> "test".equals(dependency.getScope()))
+                .allMatch(dependency -> dependency.getJarName() == null && dependency.getReferences().isEmpty()));
+        Node matchedNode = dependencyTree.vertexSet().stream()
+                .filter(dependency -> dependency.getDependencyName().equals("org.slf4j:slf4j-api:2.0.16"))
+                .findFirst().orElseThrow();
+        Assertions.assertEquals(2, matchedNode.getReferences().size());
+    }
+
+    @Test
+    public void testIndexCopiedJars(@TempDir File projectDir) throws IOException, ParseException {
+        String tree = String.join("\n",
+                "org.example:app:jar:1.0",
+                "+- org.example:lib:jar:1.0:compile",
+                "+- org.example:lib:jar:tests:1.0:compile",
+                "\\- org.example:missing:jar:1.0:compile");
+        Graph<Node, DefaultEdge> dependencyTree = new TextParser().parse(new StringReader(tree));
+        File dependencyDirectory = new File(projectDir, DepUsage.COPY_DEPENDENCY_FOLDER);
+        writeJar(new File(dependencyDirectory, "lib-1.0.jar"), "org/example/Lib.class");
+        writeJar(new File(dependencyDirectory, "lib-1.0-tests.jar"), "org/example/LibTest.class");
+        writeJar(new File(dependencyDirectory, "unrelated-2.0.jar"), "org/example/Unrelated.class");
+
+        Map<String, List<Node>> index = new DepUsage().indexDependencyClasses(dependencyTree, projectDir);
+
+        List<Node> nodes = List.copyOf(dependencyTree.vertexSet());
+        Assertions.assertEquals(List.of(nodes.get(1)), index.get("org.example.Lib"));
+        // the classifier is part of the jar name
+        Assertions.assertEquals(List.of(nodes.get(2)), index.get("org.example.LibTest"));
+        // the jar which no dependency names is left out of the index
+        Assertions.assertFalse(index.containsKey("org.example.Unrelated"));
+        Assertions.assertNull(nodes.get(3).getJarName());
+    }
+
+    private static void writeJar(File jarFile, String entry) throws IOException {
+        jarFile.getParentFile().mkdirs();
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile))) {
+            out.putNextEntry(new JarEntry(entry));
+            out.closeEntry();
+        }
+    }
 }
@@ -1,25 +1,34 @@
 package org.dep.analyzer;
 
+import fr.dutra.tools.maven.deptree.core.InputType;
 import fr.dutra.tools.maven.deptree.core.Node;
+import fr.dutra.tools.maven.deptree.core.ParseException;
+import fr.dutra.tools.maven.deptree.core.TextParser;
 import javassist.NotFoundException;
 import javassist.bytecode.BadBytecode;
+import org.dep.model.AnalysisConfig;
 import org.dep.model.ColorStyleTracker;
+import org.dep.model.CompactTree;
 import org.dep.model.Reference;
 import org.dep.util.ColorGenerator;
+import org.dep.util.DependencyTreeCache;
 import org.dep.util.MermaidFileGenerator;
 import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultEdge;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.StringReader;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,6 +47,44 @@ public class GraphAnalyzerTest {
         Assertions.assertEquals(4, dependencyTree.edgesOf(rootNode).size(), "The project has 4 direct dependencies.");
     }
 
+    @Test
+    public void testResolveDependencyTreeInProcess() {
+        GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
+        URL testProject = getClass().getClassLoader().getResource("testproj1");
+        File projectDir = new File(testProject.getFile());
+        // the poms of the dependencies are downloaded to the local repository by Maven
+        Graph<Node, DefaultEdge> mavenTree = graphAnalyzer.extractDependencyTree(projectDir);
+
+        Graph<Node, DefaultEdge> dependencyTree = new InProcessTreeResolver().resolve(new File(projectDir, "pom.xml"));
+        Assertions.assertNotNull(dependencyTree, "The dependency tree could not be resolved from the local repository");
+        Assertions.assertEquals(
+                mavenTree.vertexSet().stream().map(Node::getArtifactCanonicalForm).toList(),
+                dependencyTree.vertexSet().stream().map(Node::getArtifactCanonicalForm).toList(),
+                "The resolved dependency tree does not match the tree generated by Maven");
+    }
+
+    @Test
+    public void testDependencyTreeCache(@TempDir File cacheFolder) throws IOException {
+        GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
+        URL depTree = getClass().getClassLoader().getResource("dependencytree/deptree1.txt");
+        URL testProject = getClass().getClassLoader().getResource("testproj1/pom.xml");
+        Graph<Node, DefaultEdge> dependencyTree = graphAnalyzer.readDependencyTree(new File(depTree.getFile()));
+        DependencyTreeCache treeCache = new DependencyTreeCache(cacheFolder);
+        String key = treeCache.computeKey(new File(testProject.getFile()), false, InputType.TEXT);
+        Assertions.assertNull(treeCache.load(key));
+        // a tree generated another way is not the same tree
+        Assertions.assertNotEquals(key, treeCache.computeKey(new File(testProject.getFile()), false, InputType.JSON));
+        Assertions.assertNotEquals(key, treeCache.computeKey(new File(testProject.getFile()), true, InputType.TEXT));
+
+        treeCache.store(key, dependencyTree);
+        Graph<Node, DefaultEdge> cachedTree = treeCache.load(key);
+        Assertions.assertNotNull(cachedTree);
+        Assertions.assertEquals(
+                dependencyTree.vertexSet().stream().map(node -> node.getDepLevel() + node.getArtifactCanonicalForm()).toList(),
+                cachedTree.vertexSet().stream().map(node -> node.getDepLevel() + node.getArtifactCanonicalForm()).toList());
+        Assertions.assertEquals(dependencyTree.edgeSet().size(), cachedTree.edgeSet().size());
+    }
+
     @Test
     public void testDuplicateNodes() {
         GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
@@ -48,6 +95,29 @@ public class GraphAnalyzerTest {
     }
 
 
+    @Test
+    public void testSubtreeUsage() throws ParseException {
+        String tree = String.join("\n",
+                "org.example:app:jar:1.0",
+                "+- org.apache.velocity:velocity:jar:1.6.4:compile",
+                "|  +- commons-collections:commons-collections:jar:3.2.1:compile",
+                "|  \\- commons-lang:commons-lang:jar:2.4:compile",
+                "\\- commons-io:commons-io:jar:2.0.1:compile");
+        Graph<Node, DefaultEdge> dependencyTree = new TextParser().parse(new StringReader(tree));
+        List<Node> nodes = List.copyOf(dependencyTree.vertexSet());
+        nodes.get(2).addReferences("org.apache.commons.collections.MapUtils", Set.of(new Reference("isEmpty", "invokestatic"), new Reference("isNotEmpty", "invokestatic")));
+        nodes.get(3).addReferences("org.apache.commons.lang.StringUtils", Set.of(new Reference("isBlank", "invokestatic")));
+        new GraphAnalyzer().checkBloatedDep(new CompactTree(dependencyTree));
+
+        Node velocity = nodes.get(1);
+        Assertions.assertEquals(2, velocity.getSubtreeUsedClasses());
+        Assertions.assertEquals(3, velocity.getSubtreeUsedReferences());
+        Assertions.assertEquals(2, velocity.getUsedDescendants());
+        Assertions.assertFalse(velocity.isBloatedDep());
+        Assertions.assertEquals(2, nodes.get(0).getUsedDescendants());
+        Assertions.assertTrue(nodes.get(4).isBloatedDep());
+    }
+
     @Test
     public void testExportToMermaid() throws IOException {
         GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
@@ -82,6 +152,25 @@ public class GraphAnalyzerTest {
 
     }
 
+    @Test
+    public void testExportToMermaidRestoresPathsBelowTestDependencies(@TempDir File reportFolder) throws IOException, ParseException {
+        String tree = String.join(System.lineSeparator(),
+                "org.example:app:jar:1.0",
+                "+- org.example:test-a:jar:1.0:test",
+                "|  \\- org.example:test-b:jar:1.0:test",
+                "|     +- org.example:lib-c:jar:1.0:compile",
+                "|     \\- org.example:lib-d:jar:1.0:compile",
+                "\\- org.example:lib-e:jar:1.0:compile");
+        Graph<Node, DefaultEdge> dependencyTree = new TextParser().parse(new StringReader(tree));
+        new MermaidFileGenerator().exportToMermaid(reportFolder.getPath(), dependencyTree, new HashMap<>(), true, false,
+                new HashMap<>(), new HashMap<>(), new HashSet<>());
+
+        String graph = Files.readString(new File(reportFolder, "Graph.html").toPath());
+        // the two test edges above lib-c and lib-d are drawn once, along with the three compile edges and the two of the legend
+        Assertions.assertEquals(2, graph.split(" -\\. test \\.-&gt; ", -1).length - 1);
+        Assertions.assertEquals(5, graph.split(" --&gt; ", -1).length - 1);
+    }
+
     @Test
     public void testGraphWithTransitiveUsage() throws NotFoundException, IOException, BadBytecode, URISyntaxException {
         GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
@@ -105,4 +194,19 @@ public class GraphAnalyzerTest {
 
         Assertions.assertTrue(Files.exists(depGraphInMermaid));
     }
+
+    @Test
+    public void testGraphWithSingleMavenInvocation() throws NotFoundException, IOException, BadBytecode, URISyntaxException {
+        GraphAnalyzer graphAnalyzer = new GraphAnalyzer();
+        GraphAnalyzer.REPORT_FOLDER = "TestFolder3";
+        Path depGraphInMermaid = Path.of(GraphAnalyzer.REPORT_FOLDER, "Graph.html");
+        URL testProject = getClass().getClassLoader().getResource("DependencyAuditTest/pom.xml");
+        File projectPom = new File(testProject.getFile());
+        AnalysisConfig config = new AnalysisConfig();
+        config.setSingleMavenInvocation(true);
+        graphAnalyzer.analyze(projectPom, config);
+
+        Assertions.assertTrue(Files.exists(depGraphInMermaid));
+        Assertions.assertTrue(Files.exists(Path.of(GraphAnalyzer.REPORT_FOLDER, "DependencyDetails.csv")));
+    }
 }
@@ -0,0 +1,19 @@
+package org.dep.analyzer;
+
+import org.dep.model.AnalysisConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MavenInvocationTest {
+
+    @Test
+    public void testGoalOrder() {
+        AnalysisConfig config = new AnalysisConfig();
+        String goals = MavenInvocation.getGoals("dependency:resolve", true, true, config);
+        // dependency:resolve also writes to the outputFile, the tree has to overwrite it and not the other way around
+        Assertions.assertTrue(goals.startsWith("clean dependency:resolve dependency:tree -DoutputFile=" + GraphAnalyzer.DEPENDENCY_TREE_FILE), goals);
+        Assertions.assertTrue(goals.endsWith(" compile test-compile"), goals);
+
+        Assertions.assertEquals("dependency:resolve", MavenInvocation.getGoals("dependency:resolve", false, false, config));
+    }
+}
@@ -0,0 +1,86 @@
+package org.dep.analyzer;
+
+import org.dep.model.AnalysisConfig;
+import org.dep.model.BuildMode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+public class ProjectBuildTest {
+
+    @Test
+    public void testClassesUpToDate(@TempDir File projectDir) throws IOException {
+        Path pom = createFile(projectDir, "pom.xml", 1000);
+        Path source = createFile(projectDir, "src/main/java/org/example/App.java", 2000);
+        // no classes have been compiled yet
+        Assertions.assertFalse(ProjectBuild.isUpToDate(projectDir, true));
+
+        createFile(projectDir, "target/classes/org/example/App.class", 3000);
+        // the classes of an unknown build are not trusted
+        Assertions.assertFalse(ProjectBuild.isUpToDate(projectDir, true));
+        ProjectBuild.recordBuild(projectDir, 3000, true);
+        Assertions.assertTrue(ProjectBuild.isUpToDate(projectDir, true));
+
+        // a source or pom which changed after the build makes the classes stale
+        Files.setLastModifiedTime(source, FileTime.fromMillis(4000));
+        Assertions.assertFalse(ProjectBuild.isUpToDate(projectDir, true));
+        Files.setLastModifiedTime(source, FileTime.fromMillis(2000));
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(4000));
+        Assertions.assertFalse(ProjectBuild.isUpToDate(projectDir, true));
+
+        // the pom was touched and the build found nothing to recompile, the classes keep their time but are up to date
+        ProjectBuild.recordBuild(projectDir, 5000, true);
+        Assertions.assertTrue(ProjectBuild.isUpToDate(projectDir, true));
+
+        // a resource is copied without recompiling any class, so it does not make the classes stale
+        createFile(projectDir, "src/main/resources/app.properties", 6000);
+        Assertions.assertTrue(ProjectBuild.isUpToDate(projectDir, true));
+
+        // a build without the tests is only up to date when the test scope is excluded from the analysis
+        ProjectBuild.recordBuild(projectDir, 5000, false);
+        Assertions.assertFalse(ProjectBuild.isUpToDate(projectDir, true));
+        Assertions.assertTrue(ProjectBuild.isUpToDate(projectDir, false));
+        // and then the test sources are not checked either
+        createFile(projectDir, "src/test/java/org/example/AppTest.java", 7000);
+        Assertions.assertTrue(ProjectBuild.isUpToDate(projectDir, false));
+        ProjectBuild.recordBuild(projectDir, 6000, true);
+        Assertions.assertFalse(ProjectBuild.isUpToDate(projectDir, true));
+    }
+
+    @Test
+    public void testRequiresCompile(@TempDir File projectDir) throws IOException {
+        createFile(projectDir, "pom.xml", 1000);
+        createFile(projectDir, "src/main/java/org/example/App.java", 2000);
+        AnalysisConfig config = new AnalysisConfig();
+        Assertions.assertTrue(ProjectBuild.requiresCompile(projectDir, config));
+        Assertions.assertTrue(ProjectBuild.requiresClean(config));
+        Assertions.assertEquals("compile test-compile", ProjectBuild.getCompileGoals(config));
+        config.setExcludeTestScope(true);
+        Assertions.assertEquals("compile", ProjectBuild.getCompileGoals(config));
+        config.setExcludeTestScope(false);
+
+        config.setBuildMode(BuildMode.EXISTING);
+        Assertions.assertFalse(ProjectBuild.requiresCompile(projectDir, config));
+
+        config.setBuildMode(BuildMode.INCREMENTAL);
+        Assertions.assertFalse(ProjectBuild.requiresClean(config));
+        Assertions.assertTrue(ProjectBuild.requiresCompile(projectDir, config));
+        createFile(projectDir, "target/classes/org/example/App.class", 3000);
+        ProjectBuild.recordBuild(projectDir, 3000, true);
+        Assertions.assertFalse(ProjectBuild.requiresCompile(projectDir, config));
+    }
+
+    private static Path createFile(File projectDir, String path, long lastModified) throws IOException {
+        Path file = projectDir.toPath().resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.createFile(file);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+        return file;
+    }
+}
@@ -0,0 +1,76 @@
+package org.dep.analyzer;
+
+import org.dep.model.AnalysisConfig;
+import org.dep.model.AnalysisSummary;
+import org.dep.util.HTMLReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.List;
+
+public class ReactorAnalyzerTest {
+
+    @Test
+    public void testFindModules() {
+        URL reactorPom = getClass().getClassLoader().getResource("ReactorTest/pom.xml");
+        List<File> modules = ReactorAnalyzer.findModules(new File(reactorPom.getFile()));
+        Assertions.assertEquals(2, modules.size());
+        Assertions.assertEquals("module-a", modules.get(0).getParentFile().getName());
+        Assertions.assertEquals("module-b", modules.get(1).getParentFile().getName());
+    }
+
+    @Test
+    public void testAnalyzeReactor(@TempDir File reportFolder) throws IOException {
+        URL reactorPom = getClass().getClassLoader().getResource("ReactorTest/pom.xml");
+        AnalysisConfig config = new AnalysisConfig();
+        config.setReportFolder(reportFolder.getPath());
+        config.setSingleMavenInvocation(true);
+        config.setIndexJarsInPlace(true);
+        config.setWorkers(2);
+        List<AnalysisSummary> summaries = new ReactorAnalyzer(new GraphAnalyzer()).analyze(new File(reactorPom.getFile()), config);
+
+        Assertions.assertEquals(2, summaries.size());
+        for (AnalysisSummary summary : summaries) {
+            Assertions.assertFalse(summary.isFailed(), summary.getError());
+            Assertions.assertTrue(Files.exists(new File(summary.getReportFolder(), HTMLReport.DEP_DETAILS_HTML).toPath()));
+            Assertions.assertTrue(Files.exists(new File(summary.getReportFolder(), "DependencyDetails.csv").toPath()));
+        }
+        Assertions.assertEquals("org.example:module-a", summaries.get(0).getProjectName());
+        // slf4j-api is only used by module-b through its dependency declaration
+        Assertions.assertEquals(0, summaries.get(0).getBloatedDirectDependencies());
+        Assertions.assertEquals(1, summaries.get(1).getBloatedDirectDependencies());
+
+        String aggregateReport = Files.readString(new File(reportFolder, HTMLReport.REACTOR_SUMMARY_HTML).toPath());
+        Assertions.assertTrue(aggregateReport.contains("module-a/" + HTMLReport.DEP_DETAILS_HTML));
+        // the modules resolve commons-lang3 to different versions
+        Assertions.assertTrue(aggregateReport.contains("org.apache.commons:commons-lang3"));
+        Assertions.assertTrue(Files.exists(new File(reportFolder, ReactorAnalyzer.REACTOR_SUMMARY_CSV).toPath()));
+    }
+
+    @Test
+    public void testAnalyzeReactorWithReactorTree(@TempDir File reportFolder) throws IOException {
+        URL reactorPom = getClass().getClassLoader().getResource("ReactorTest/pom.xml");
+        AnalysisConfig config = new AnalysisConfig();
+        config.setReportFolder(reportFolder.getPath());
+        config.setSingleMavenInvocation(true);
+        config.setIndexJarsInPlace(true);
+        config.setReactorTree(true);
+        List<AnalysisSummary> summaries = new ReactorAnalyzer(new GraphAnalyzer()).analyze(new File(reactorPom.getFile()), config);
+
+        Assertions.assertEquals(2, summaries.size());
+        for (AnalysisSummary summary : summaries) {
+            Assertions.assertFalse(summary.isFailed(), summary.getError());
+        }
+        // the trees of both modules were generated at the reactor root
+        String reactorTrees = Files.readString(new File(new File(reactorPom.getFile()).getParentFile(), GraphAnalyzer.DEPENDENCY_TREE_FILE).toPath());
+        Assertions.assertTrue(reactorTrees.contains("org.example:module-a"));
+        Assertions.assertTrue(reactorTrees.contains("org.example:module-b"));
+        Assertions.assertEquals("3.17.0", summaries.get(0).getResolvedVersions().get("org.apache.commons:commons-lang3"));
+        Assertions.assertEquals("3.12.0", summaries.get(1).getResolvedVersions().get("org.apache.commons:commons-lang3"));
+    }
+}
@@ -0,0 +1,45 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.ParseException;
+import fr.dutra.tools.maven.deptree.core.TextParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+public class CompactTreeTest {
+
+    @Test
+    public void testStructure() throws ParseException {
+        String tree = String.join("\n",
+                "org.example:app:jar:1.0",
+                "+- org.apache.velocity:velocity:jar:1.6.4:compile",
+                "|  +- commons-collections:commons-collections:jar:3.2.1:compile",
+                "|  \\- (commons-io:commons-io:jar:1.4:compile - omitted for conflict with 2.0.1)",
+                "+- commons-io:commons-io:jar:2.0.1:compile",
+                "\\- junit:junit:jar:4.8.2:test");
+        CompactTree compactTree = new CompactTree(new TextParser().parse(new StringReader(tree)));
+
+        Assertions.assertEquals(6, compactTree.size());
+        // the ids follow the order of the tree
+        Assertions.assertEquals(0, compactTree.getRoot());
+        Assertions.assertEquals(CompactTree.NO_PARENT, compactTree.getParent(0));
+        Assertions.assertEquals(1, compactTree.getParent(3));
+        Assertions.assertEquals(2, compactTree.getDepth(3));
+        Assertions.assertEquals(3, compactTree.getChildEnd(0) - compactTree.getFirstChild(0));
+        Assertions.assertEquals(4, compactTree.getChild(compactTree.getFirstChild(0) + 1));
+        // the direct dependencies come before the transitive ones in the breadth first order
+        int[] breadthFirst = new int[compactTree.size()];
+        for (int index = 0; index < breadthFirst.length; index++) {
+            breadthFirst[index] = compactTree.getBreadthFirst(index);
+        }
+        Assertions.assertArrayEquals(new int[]{0, 1, 4, 5, 2, 3}, breadthFirst);
+
+        Assertions.assertTrue(compactTree.isOmitted(3));
+        Assertions.assertTrue(compactTree.isConflict(3));
+        Assertions.assertTrue(compactTree.isTestScope(5));
+        Assertions.assertEquals(compactTree.getArtifactIndex(3), compactTree.getArtifactIndex(4));
+        Assertions.assertEquals(5, compactTree.getArtifactCount());
+        Assertions.assertEquals("commons-io:commons-io", compactTree.getArtifactKey(compactTree.getArtifactIndex(4)));
+    }
+}
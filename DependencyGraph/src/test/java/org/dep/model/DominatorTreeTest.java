@@ -0,0 +1,89 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.Node;
+import fr.dutra.tools.maven.deptree.core.ParseException;
+import fr.dutra.tools.maven.deptree.core.TextParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Set;
+
+public class DominatorTreeTest {
+
+    private static final String TREE = String.join("\n",
+            "org.example:app:jar:1.0",
+            "+- org.example:a:jar:1.0:compile",
+            "|  +- org.example:shared:jar:1.0:compile",
+            "|  \\- org.example:only-a:jar:1.0:compile",
+            "|     \\- org.example:deep:jar:1.0:compile",
+            "+- org.example:b:jar:1.0:compile",
+            "|  \\- (org.example:shared:jar:1.0:compile - omitted for duplicate)",
+            "+- org.example:c:jar:1.0:compile",
+            "|  \\- org.example:x:jar:1.0:compile",
+            "\\- junit:junit:jar:4.8.2:test",
+            "   \\- (org.example:only-a:jar:1.0:test - omitted for duplicate)");
+
+    @Test
+    public void testRemovalCandidates() throws ParseException {
+        CompactTree compactTree = parse();
+        DominatorTree dominatorTree = new DominatorTree(compactTree, true);
+
+        // shared is also brought in by b, only-a and deep leave with a
+        Assertions.assertEquals(artifact(compactTree, "org.example:app"), dominatorTree.getImmediateDominator(artifact(compactTree, "org.example:shared")));
+        Assertions.assertEquals(artifact(compactTree, "org.example:only-a"), dominatorTree.getImmediateDominator(artifact(compactTree, "org.example:deep")));
+        Assertions.assertEquals(DominatorTree.NO_DOMINATOR, dominatorTree.getImmediateDominator(artifact(compactTree, "junit:junit")));
+        Assertions.assertEquals(DominatorTree.NO_DOMINATOR, dominatorTree.getImmediateDominator(artifact(compactTree, "org.example:app")));
+
+        List<RemovalImpact> candidates = dominatorTree.getRemovalCandidates();
+        Assertions.assertEquals(List.of("org.example:a", "org.example:b", "org.example:c"),
+                candidates.stream().map(impact -> impact.getDependency().getArtifactKey()).toList());
+        RemovalImpact a = candidates.get(0);
+        Assertions.assertEquals(2, a.getExclusiveDependencies());
+        Assertions.assertEquals(150, a.getJarSize());
+        Assertions.assertEquals(15, a.getClassCount());
+        // c is ranked last since the project uses its transitive dependency
+        Assertions.assertEquals(1, candidates.get(2).getUsedReferences());
+        Assertions.assertEquals(75, candidates.get(2).getJarSize());
+    }
+
+    @Test
+    public void testRemovalCandidatesWithTestScope() throws ParseException {
+        CompactTree compactTree = parse();
+        DominatorTree dominatorTree = new DominatorTree(compactTree, false);
+
+        // junit also brings in only-a, so removing a only removes its own jar
+        Assertions.assertEquals(artifact(compactTree, "org.example:app"), dominatorTree.getImmediateDominator(artifact(compactTree, "org.example:only-a")));
+        Assertions.assertEquals(0, dominatorTree.getExclusiveArtifacts(artifact(compactTree, "org.example:a")));
+        Assertions.assertEquals(100, dominatorTree.getExclusiveJarSize(artifact(compactTree, "org.example:a")));
+        Assertions.assertEquals(4, dominatorTree.getRemovalCandidates().size());
+    }
+
+    private static CompactTree parse() throws ParseException {
+        CompactTree compactTree = new CompactTree(new TextParser().parse(new StringReader(TREE)));
+        setJar(compactTree.getNode(1), 100, 10);
+        setJar(compactTree.getNode(2), 50, 5);
+        setJar(compactTree.getNode(3), 30, 3);
+        setJar(compactTree.getNode(4), 20, 2);
+        setJar(compactTree.getNode(5), 40, 4);
+        setJar(compactTree.getNode(7), 70, 7);
+        setJar(compactTree.getNode(8), 5, 1);
+        compactTree.getNode(8).addReferences("org.example.x.X", Set.of(new Reference("run", "invokevirtual")));
+        return compactTree;
+    }
+
+    private static void setJar(Node node, long jarSize, int classCount) {
+        node.setJarSize(jarSize);
+        node.setClassCount(classCount);
+    }
+
+    private static int artifact(CompactTree compactTree, String artifactKey) {
+        for (int artifactIndex = 0; artifactIndex < compactTree.getArtifactCount(); artifactIndex++) {
+            if (compactTree.getArtifactKey(artifactIndex).equals(artifactKey)) {
+                return artifactIndex;
+            }
+        }
+        throw new IllegalArgumentException(artifactKey);
+    }
+}
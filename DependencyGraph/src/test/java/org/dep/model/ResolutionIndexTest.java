@@ -0,0 +1,57 @@
+package org.dep.model;
+
+import fr.dutra.tools.maven.deptree.core.Node;
+import fr.dutra.tools.maven.deptree.core.ParseException;
+import fr.dutra.tools.maven.deptree.core.TextParser;
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ResolutionIndexTest {
+
+    private static final String TREE = String.join("\n",
+            "org.example:app:jar:1.0",
+            "+- commons-io:commons-io:jar:2.0.1:compile",
+            "+- org.apache.velocity:velocity:jar:1.6.4:compile",
+            "|  +- (commons-io:commons-io:jar:2.0.1:compile - omitted for duplicate)",
+            "|  \\- (commons-io:commons-io:jar:1.4:compile - omitted for conflict with 2.0.1)",
+            "\\- junit:junit:jar:4.8.2:test",
+            "   \\- (commons-io:commons-io:jar:1.3:test - omitted for conflict with 2.0.1)");
+
+    @Test
+    public void testResolutions() throws ParseException {
+        ResolutionIndex index = new ResolutionIndex(parse(), false);
+
+        Assertions.assertEquals("2.0.1", index.getWinningVersion("commons-io:commons-io"));
+        Assertions.assertEquals(1, index.getWinner("commons-io:commons-io").getDepLevel());
+        Assertions.assertEquals(3, index.getLosingOccurrences("commons-io:commons-io").size());
+        Assertions.assertEquals(Set.of("commons-io:commons-io"), index.getConflictedArtifacts());
+        Assertions.assertEquals(Map.of("commons-io:commons-io", "2.0.1", "org.apache.velocity:velocity", "1.6.4", "junit:junit", "4.8.2"),
+                index.getWinningVersions());
+        // the project is indexed but is not one of its dependencies
+        Assertions.assertEquals("1.0", index.getWinningVersion("org.example:app"));
+        Assertions.assertEquals(4, index.getOccurrenceCount("commons-io:commons-io"));
+        Assertions.assertEquals(List.of("2.0.1", "1.4", "1.3"), List.copyOf(index.getVersions("commons-io:commons-io")));
+        Assertions.assertEquals(Map.of("commons-io:commons-io", 4), index.getDuplicatedArtifacts());
+        Assertions.assertEquals(0, index.getOccurrenceCount("org.slf4j:slf4j-api"));
+    }
+
+    @Test
+    public void testResolutionsWithoutTestScope() throws ParseException {
+        ResolutionIndex index = new ResolutionIndex(parse(), true);
+
+        Assertions.assertEquals(2, index.getLosingOccurrences("commons-io:commons-io").size());
+        Assertions.assertNull(index.getWinner("junit:junit"));
+        Assertions.assertEquals(3, index.getDuplicatedArtifacts().get("commons-io:commons-io"));
+    }
+
+    private static Graph<Node, DefaultEdge> parse() throws ParseException {
+        return new TextParser().parse(new StringReader(TREE));
+    }
+}
@@ -0,0 +1,63 @@
+package org.dep.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@DisabledOnOs(OS.WINDOWS)
+public class CommandExecutorTest {
+
+    @TempDir
+    File workingDir;
+
+    @Test
+    public void testOutputScannedLineByLine() throws IOException {
+        List<String> lines = new ArrayList<>();
+        CommandMonitor monitor = CommandMonitor.forMaven(Duration.ofSeconds(30)).setLineListener(lines::add);
+        CommandExecutor.executeCommand(script("for i in $(seq 1 500); do echo line $i; done; echo BUILD SUCCESS"), workingDir, monitor);
+
+        Assertions.assertTrue(monitor.isSuccess());
+        Assertions.assertEquals(501, lines.size());
+        // only the last lines of the output are kept
+        List<String> tail = monitor.getTail();
+        Assertions.assertEquals(100, tail.size());
+        Assertions.assertEquals("BUILD SUCCESS", tail.get(tail.size() - 1));
+    }
+
+    @Test
+    public void testFailure() throws IOException {
+        CommandMonitor monitor = CommandMonitor.forMaven(Duration.ofSeconds(30));
+        CommandExecutor.executeCommand(script("echo BUILD FAILURE >&2; exit 1"), workingDir, monitor);
+
+        Assertions.assertFalse(monitor.isSuccess());
+        Assertions.assertEquals(1, monitor.getExitValue());
+    }
+
+    @Test
+    public void testPhaseTimeout() throws IOException {
+        CommandMonitor monitor = CommandMonitor.forMaven(Duration.ofSeconds(30))
+                .addPhase("--- compile", Duration.ofMillis(500));
+        long start = System.nanoTime();
+        CommandExecutor.executeCommand(script("echo --- compile; exec sleep 20"), workingDir, monitor);
+
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(15)) < 0);
+        Assertions.assertFalse(monitor.isSuccess());
+        Assertions.assertTrue(monitor.isTimedOut());
+        Assertions.assertEquals("--- compile", monitor.getTimedOutPhase());
+    }
+
+    private String script(String content) throws IOException {
+        File script = new File(workingDir, "command.sh");
+        Files.writeString(script.toPath(), content);
+        return "sh " + script.getAbsolutePath();
+    }
+}
@@ -0,0 +1,78 @@
+package org.dep.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+public class JarClassReaderTest {
+
+    private static final String DEFLATED_CLASS = "org/dep/model/RemovalImpact";
+    private static final String STORED_CLASS = "org/dep/model/ClassSummary";
+
+    @Test
+    public void testReadClasses(@TempDir File tempDir) throws IOException {
+        byte[] deflatedClass = readResource(DEFLATED_CLASS + ".class");
+        byte[] storedClass = readResource(STORED_CLASS + ".class");
+        File jarFile = new File(tempDir, "lib-1.0.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile))) {
+            out.putNextEntry(new ZipEntry("org/dep/model/"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry(DEFLATED_CLASS + ".class"));
+            out.write(deflatedClass);
+            out.closeEntry();
+            ZipEntry storedEntry = new ZipEntry(STORED_CLASS + ".class");
+            CRC32 crc = new CRC32();
+            crc.update(storedClass);
+            storedEntry.setMethod(ZipEntry.STORED);
+            storedEntry.setSize(storedClass.length);
+            storedEntry.setCrc(crc.getValue());
+            out.putNextEntry(storedEntry);
+            out.write(storedClass);
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("META-INF/notes.class.txt"));
+            out.write("not a class".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            // the end of central directory record is followed by the comment
+            out.setComment("built for the test");
+        }
+
+        JarClassReader reader = JarClassReader.open(jarFile);
+        try (reader) {
+            List<String> classNames = new ArrayList<>();
+            for (int i = 0; i < reader.size(); i++) {
+                classNames.add(reader.getClassName(i));
+            }
+            Assertions.assertEquals(List.of(DEFLATED_CLASS, STORED_CLASS), classNames);
+            Assertions.assertArrayEquals(deflatedClass, reader.readClass(0));
+            Assertions.assertArrayEquals(storedClass, reader.readClass(1));
+        }
+        // the jar is released once the reader is closed
+        Assertions.assertThrows(IOException.class, () -> reader.readClass(0));
+    }
+
+    @Test
+    public void testNotAJar(@TempDir File tempDir) throws IOException {
+        File jarFile = new File(tempDir, "lib-1.0.jar");
+        Files.write(jarFile.toPath(), new byte[100]);
+        Assertions.assertThrows(ZipException.class, () -> JarClassReader.open(jarFile));
+    }
+
+    private byte[] readResource(String name) throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(name)) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.dep.util;
+
+import org.dep.analyzer.AnalysisCache;
+import org.dep.model.ClassSummary;
+import org.dep.model.JarIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+public class JarIndexCacheTest {
+
+    private static final String CLASS_NAME = "org/dep/model/RemovalImpact";
+
+    @Test
+    public void testCachedJarIndex(@TempDir File tempDir) throws IOException {
+        File jarFile = new File(tempDir, "lib-1.0.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile));
+             InputStream classFile = getClass().getClassLoader().getResourceAsStream(CLASS_NAME + ".class")) {
+            out.putNextEntry(new JarEntry(CLASS_NAME + ".class"));
+            classFile.transferTo(out);
+            out.closeEntry();
+        }
+        JarIndexCache jarIndexCache = new JarIndexCache(new File(tempDir, "cache"));
+
+        JarIndex jarIndex = new AnalysisCache().getJarIndex(jarFile, jarIndexCache);
+        assertSummary(jarIndex);
+
+        // the jar is not opened again while its size and modification time are unchanged
+        long lastModified = jarFile.lastModified();
+        Files.write(jarFile.toPath(), new byte[(int) jarFile.length()]);
+        Assertions.assertTrue(jarFile.setLastModified(lastModified));
+        assertSummary(new AnalysisCache().getJarIndex(jarFile, jarIndexCache));
+
+        // a changed jar is hashed and read again
+        Assertions.assertTrue(jarFile.setLastModified(lastModified + 1000));
+        Assertions.assertThrows(IOException.class, () -> new AnalysisCache().getJarIndex(jarFile, jarIndexCache));
+    }
+
+    @Test
+    public void testJarsWithTheSameNameAndSize(@TempDir File tempDir) throws IOException {
+        File firstJar = writeJar(new File(tempDir, "first"), "org/dep/First");
+        File secondJar = writeJar(new File(tempDir, "second"), "org/dep/Other");
+        Assertions.assertEquals(firstJar.length(), secondJar.length());
+
+        // the jars are told apart by their path, not by their name and size
+        AnalysisCache cache = new AnalysisCache();
+        Assertions.assertEquals(Set.of("org/dep/First"), cache.getJarClasses(firstJar));
+        Assertions.assertEquals(Set.of("org/dep/Other"), cache.getJarClasses(secondJar));
+
+        // a jar replaced in place is read again
+        writeJar(new File(tempDir, "first"), "org/dep/Third");
+        Assertions.assertTrue(firstJar.setLastModified(firstJar.lastModified() + 1000));
+        Assertions.assertEquals(Set.of("org/dep/Third"), cache.getJarClasses(firstJar));
+    }
+
+    private File writeJar(File folder, String className) throws IOException {
+        Files.createDirectories(folder.toPath());
+        File jarFile = new File(folder, "lib-1.0.jar");
+        try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile));
+             InputStream classFile = getClass().getClassLoader().getResourceAsStream(CLASS_NAME + ".class")) {
+            out.putNextEntry(new JarEntry(className + ".class"));
+            classFile.transferTo(out);
+            out.closeEntry();
+        }
+        return jarFile;
+    }
+
+    private static void assertSummary(JarIndex jarIndex) {
+        Assertions.assertEquals(List.of(CLASS_NAME), List.copyOf(jarIndex.getClassNames()));
+        ClassSummary summary = jarIndex.getSummary(CLASS_NAME);
+        Assertions.assertEquals("java.lang.Object", summary.getSuperclass());
+        Assertions.assertEquals(0, summary.getInterfaces().length);
+        Assertions.assertTrue(List.of(summary.getMethods()).contains("getJarSize()J"));
+        Assertions.assertEquals(List.of("<init>()V"), List.of(summary.getConstructors()));
+        Assertions.assertTrue(List.of(summary.getFields()).contains("jarSize"));
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.a;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ModuleA {
+    private static final Logger logger = LoggerFactory.getLogger(ModuleA.class);
+
+    public static void main(String[] args) {
+        logger.info(StringUtils.capitalize("module a"));
+    }
+}
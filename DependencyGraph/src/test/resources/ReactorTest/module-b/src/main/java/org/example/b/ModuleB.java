@@ -0,0 +1,10 @@
+package org.example.b;
+
+import org.apache.commons.lang3.StringUtils;
+
+public class ModuleB {
+
+    public static void main(String[] args) {
+        System.out.println(StringUtils.reverse("module b"));
+    }
+}